@@ -0,0 +1,131 @@
+package com.example.timesheet.cache;
+
+import com.example.timesheet.common.constants.CacheNames;
+import com.example.timesheet.dto.response.UserIdentityDto;
+import com.example.timesheet.events.ProjectChangedEvent;
+import com.example.timesheet.events.TimesheetChangedEvent;
+import com.example.timesheet.keys.TimesheetSummaryId;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
+import com.example.timesheet.repository.ProjectRepository;
+import com.example.timesheet.service.EmployeeDirectoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Evicts only the dashboards a committed write can have changed:
+//   employee   - the employee's own month
+//   manager    - the month of the employee's reporting manager (and the approver)
+//   PM / CCM   - managers of the projects the employee logged time on that month
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final EmployeeDirectoryService employeeDirectoryService;
+    private final MonthlyHoursRollupRepository monthlyHoursRollupRepository;
+    private final ProjectRepository projectRepository;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTimesheetChanged(TimesheetChangedEvent event) {
+        Map<YearMonth, Set<String>> employeesByMonth = event.weeks().stream()
+                .collect(Collectors.groupingBy(
+                        week -> YearMonth.of(week.getTimesheetYear(), week.getTimesheetMonth()),
+                        Collectors.mapping(TimesheetSummaryId::getEmployeeCode, Collectors.toSet())));
+
+        guarded(() -> employeesByMonth.forEach((period, employees) -> {
+            int year = period.getYear();
+            int month = period.getMonthValue();
+
+            Set<String> managers = employees.stream()
+                    .map(employeeDirectoryService::findEmployee)
+                    .flatMap(Optional::stream)
+                    .map(UserIdentityDto::getManagerCode)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(HashSet::new));
+            managers.addAll(event.approverCodes());
+
+            // Cost center dashboards count statuses by approver, so approvers are included there too
+            Owners owners = ownersOf(monthlyHoursRollupRepository.findProjectCodesLoggedBy(employees, year, month));
+            owners.costCenterManagers().addAll(event.approverCodes());
+
+            evict(key -> switch (key.type()) {
+                case EMPLOYEE -> employees.contains(key.code()) && key.covers(year, month);
+                case MANAGER -> managers.contains(key.code()) && key.covers(year, month);
+                case PROJECT_MANAGER -> owners.projectManagers().contains(key.code());
+                case COST_CENTER_MANAGER -> owners.costCenterManagers().contains(key.code()) && key.covers(year, month);
+            });
+        }));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.ownershipChanged()) {
+            evict(key -> key.type() == DashboardKey.Type.PROJECT_MANAGER
+                    || key.type() == DashboardKey.Type.COST_CENTER_MANAGER);
+            return;
+        }
+        // Assignment counts are not limited to a period, so every month of the cost center manager goes
+        guarded(() -> {
+            Owners owners = ownersOf(List.of(event.projectCode()));
+            evict(key -> switch (key.type()) {
+                case PROJECT_MANAGER -> owners.projectManagers().contains(key.code());
+                case COST_CENTER_MANAGER -> owners.costCenterManagers().contains(key.code());
+                default -> false;
+            });
+        });
+    }
+
+    private Owners ownersOf(List<String> projectCodes) {
+        Owners owners = new Owners(new HashSet<>(), new HashSet<>());
+        if (projectCodes.isEmpty()) {
+            return owners;
+        }
+        for (Object[] row : projectRepository.findManagerCodesByProjectCodeIn(projectCodes)) {
+            Optional.ofNullable((String) row[0]).ifPresent(owners.projectManagers()::add);
+            Optional.ofNullable((String) row[1]).ifPresent(owners.costCenterManagers()::add);
+        }
+        return owners;
+    }
+
+    // The write has already committed: if the affected scope cannot be resolved, drop every dashboard
+    // rather than fail the request or keep serving stale figures
+    private void guarded(Runnable invalidation) {
+        try {
+            invalidation.run();
+        } catch (RuntimeException e) {
+            log.warn("Could not resolve dashboards affected by a write; clearing the dashboard cache", e);
+            Optional.ofNullable(cacheManager.getCache(CacheNames.DASHBOARDS)).ifPresent(Cache::clear);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evict(Predicate<DashboardKey> affected) {
+        Cache cache = cacheManager.getCache(CacheNames.DASHBOARDS);
+        if (cache == null) {
+            return;
+        }
+        ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache()).asMap().keySet()
+                .removeIf(key -> key instanceof DashboardKey dashboardKey && affected.test(dashboardKey));
+    }
+
+    private record Owners(Set<String> projectManagers, Set<String> costCenterManagers) {
+    }
+}
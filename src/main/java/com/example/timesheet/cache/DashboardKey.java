@@ -0,0 +1,30 @@
+package com.example.timesheet.cache;
+
+// Key of a cached dashboard; year and month are null where the dashboard is not limited to a period.
+// Dashboards served with an ETag carry it as version, so a body is only ever reused under the ETag read
+// before it was built: a stale body that lands after an eviction stays under the old ETag and is never served.
+public record DashboardKey(Type type, String code, Integer year, Integer month, String version) {
+
+    public enum Type { EMPLOYEE, MANAGER, PROJECT_MANAGER, COST_CENTER_MANAGER }
+
+    public static DashboardKey employee(String employeeCode, int year, int month, String version) {
+        return new DashboardKey(Type.EMPLOYEE, employeeCode, year, month, version);
+    }
+
+    public static DashboardKey manager(String managerCode, int year, int month, String version) {
+        return new DashboardKey(Type.MANAGER, managerCode, year, month, version);
+    }
+
+    public static DashboardKey projectManager(String managerCode) {
+        return new DashboardKey(Type.PROJECT_MANAGER, managerCode, null, null, null);
+    }
+
+    public static DashboardKey costCenterManager(String managerCode, Integer year, Integer month) {
+        return new DashboardKey(Type.COST_CENTER_MANAGER, managerCode, year, month, null);
+    }
+
+    // True when the dashboard's period includes the given month
+    public boolean covers(int otherYear, int otherMonth) {
+        return (year == null || year == otherYear) && (month == null || month == otherMonth);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.timesheet.common.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Replays the stored response when a request repeats its Idempotency-Key header.
+// Only for controller methods returning ResponseEntity.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
@@ -20,6 +20,8 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
@@ -29,9 +31,13 @@ import static com.example.timesheet.common.constants.ErrorMessage.UNAUTHORIZED_A
 
 @Aspect
 @Component
+@Order(AuthorizationAspect.ORDER)
 @RequiredArgsConstructor
 public class AuthorizationAspect {
 
+    // Outermost advice on controller methods: nothing else runs for a caller that is not authorized
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthorizationAspect.class);
 
     private final KeycloakAuthorizationEnforcer enforcer;
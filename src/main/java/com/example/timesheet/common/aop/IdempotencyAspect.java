@@ -0,0 +1,102 @@
+package com.example.timesheet.common.aop;
+
+import com.example.timesheet.models.IdempotencyRecord;
+import com.example.timesheet.service.IdempotencyService;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Runs inside AuthorizationAspect, so an unauthorized caller can neither claim a key nor read a stored response
+@Aspect
+@Component
+@Order(AuthorizationAspect.ORDER + 1)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyAspect.class);
+
+    private final IdempotencyService idempotencyService;
+    private final HttpServletRequest request;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Around("@annotation(com.example.timesheet.common.annotations.Idempotent)")
+    public Object replayOrProceed(ProceedingJoinPoint joinPoint) throws Throwable {
+        String header = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (header == null || header.isBlank()) {
+            return joinPoint.proceed();
+        }
+
+        // Keys are per caller: the same header value from two users never shares a stored response
+        String key = hash((principal() + "\n" + header).getBytes(StandardCharsets.UTF_8));
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String endpoint = request.getMethod() + " " + request.getRequestURI();
+        String requestHash = hash(objectMapper.writeValueAsBytes(joinPoint.getArgs()));
+
+        if (!idempotencyService.claim(key, endpoint, requestHash)) {
+            IdempotencyRecord stored = idempotencyService.getCompleted(key, endpoint, requestHash);
+            logger.info("Replaying stored response for Idempotency-Key {} on {}", header, endpoint);
+            JavaType bodyType = objectMapper.constructType(
+                    ResolvableType.forMethodReturnType(method).getGeneric(0).getType());
+            return ResponseEntity.status(stored.getResponseStatus())
+                    .header(IDEMPOTENT_REPLAY_HEADER, Boolean.TRUE.toString())
+                    .body(objectMapper.readValue(stored.getResponseBody(), bodyType));
+        }
+
+        // The handler's writes and the stored response commit together: a crash can leave the claim behind,
+        // which expires after its lease, but never a committed write without its response
+        TransactionStatus transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        Object result;
+        try {
+            result = joinPoint.proceed();
+            ResponseEntity<?> response = (ResponseEntity<?>) result;
+            idempotencyService.complete(key, response.getStatusCode().value(),
+                    objectMapper.writeValueAsString(response.getBody()));
+        } catch (Throwable ex) {
+            transactionManager.rollback(transaction);
+            idempotencyService.release(key);
+            throw ex;
+        }
+        try {
+            transactionManager.commit(transaction);
+        } catch (RuntimeException ex) {
+            idempotencyService.release(key);
+            throw ex;
+        }
+        return result;
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private static String hash(byte[] payload) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    }
+}
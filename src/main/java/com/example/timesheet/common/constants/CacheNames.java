@@ -0,0 +1,15 @@
+package com.example.timesheet.common.constants;
+
+public final class CacheNames {
+
+    public static final String PROJECT_REFERENCES = "projectReferences";
+    public static final String CLIENTS = "clients";
+    public static final String COST_CENTERS = "costCenters";
+    public static final String PROJECT_ROLE_NAMES = "projectRoleNames";
+    public static final String DASHBOARDS = "dashboards";
+
+    // Private constructor to prevent instantiation
+    private CacheNames() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+}
@@ -7,6 +7,7 @@ public final class ErrorCode {
     public static final String INTERNAL_SERVER_ERROR = "TIMESHEET_INTERNAL_SERVER_ERROR";
     public static final String SERVICE_UNAVAILABLE_ERROR = "TIMESHEET_SERVICE_UNAVAILABLE_ERROR";
     public static final String CONFLICT_ERROR = "TIMESHEET_CONFLICT_ERROR";
+    public static final String STATUS_CONFLICT_ERROR = "TIMESHEET_STATUS_CONFLICT_ERROR";
     public static final String FORBIDDEN_ERROR = "TIMESHEET_FORBIDDEN_ERROR";
     public static final String UNAUTHORIZED_ERROR = "TIMESHEET_UNAUTHORIZED_ERROR";
     public static final String NOT_FOUND_ERROR = "TIMESHEET_NOT_FOUND_ERROR";
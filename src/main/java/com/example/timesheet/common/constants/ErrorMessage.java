@@ -40,6 +40,15 @@ public final class ErrorMessage {
     public static final String ASSIGNMENT_NOT_FOUND =
             "Assignment not found for project '%s' and employee '%s'";
     public static final String DAILY_TIME_SHEET_NOT_FOUND_FOR_EMPLOYEE_WITHIN_DATES = "Daily Timesheet Not Found For employees Within dates";
+    public static final String INVALID_MANAGER_EDIT =
+            "Manager edit for employee %s on %s needs a work date, entry type, hours and, for project entries, a project code";
+
+    // === Idempotency Errors ===
+    // Keys are stored scoped to the caller, so these messages do not echo them
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS =
+            "A request with this Idempotency-Key is still being processed; retry after it completes";
+    public static final String IDEMPOTENCY_KEY_REUSED =
+            "This Idempotency-Key was already used for a different request";
 
 
     // === Project, Client, Cost Center Errors ===
@@ -53,6 +62,7 @@ public final class ErrorMessage {
 
     // === Date Validation Errors ===
     public static final String START_DATE_REQUIRED = "Start date is required for employee %s";
+    public static final String WEEK_START_REQUIRED = "weekStart date is required for employee %s";
     public static final String EMP_START_BEFORE_PROJECT =
             "Start date for employee %s is before the project %s start date";
     public static final String EMP_END_AFTER_PROJECT =
@@ -61,10 +71,17 @@ public final class ErrorMessage {
 
     // === Generic / Fallback Errors ===
     public static final String STATUS_NOT_FOUND = "Status not found";
+    public static final String TIMESHEET_STATUS_CONFLICT =
+            "Timesheet of employee %s for week starting %s is %s, expected %s";
+    public static final String TIMESHEET_CONCURRENT_UPDATE =
+            "Timesheet was changed by another request, reload it and try again";
     public static final String NO_ACTIVE_USERS_FOUND = "No active users found";
     public static final String PROJECT_ROLE_ALREADY_CREATED = "Project Role already Created";
     public static final String PROJECT_ROLE_NOT_FOUND = "Project Role not found";
     public static final String NO_TIMESHEET_SUMMARIES_FOUND = "No timesheet summaries found";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor; start again without 'after'";
+    public static final String DAILY_ENTRIES_NOT_QUEUED =
+            "Daily entries of employee %s could not be queued, please retry";
 
     private ErrorMessage() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -37,13 +37,14 @@ public final class MessageConstants {
 
     // === Timesheet Messages ===
     public static final String DAILY_TIMESHEET_SAVED = "Daily Timesheet saved";
+    public static final String DAILY_TIMESHEET_ACCEPTED = "Daily Timesheet accepted for processing (tracking id: %s)";
     public static final String SUBMITTED_TIMESHEET =
             "Timesheet submitted for employee %s for week starting %s (Month: %s, Year: %s)";
     public static final String TIMESHEET_APPROVED_BY_MANAGER =
             "Timesheet of employee %s for week starting %s has been approved by manager %s.";
     public static final String TIMESHEET_REJECTED_BY_MANAGER =
             "Timesheet of employee %s for week starting %s has been rejected by manager %s for correction.";
-    public static final String APPROVED_ALL_TIMESHEETS_FOR_WEEK = "Approve All Timesheet For The week";
+    public static final String APPROVED_ALL_TIMESHEETS_FOR_WEEK = "%d submitted timesheets approved for the week starting %s";
     public static final String PROJECT_ROLE_CREATED = "Project role crated";
     public static final String PROJECT_ROLE_UPDATED = "Project role updated";
     public static final String DELETED_PROJECT_ROLE = "Project role deleted";
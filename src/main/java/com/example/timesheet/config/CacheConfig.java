@@ -0,0 +1,12 @@
+package com.example.timesheet.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Caffeine caches for reference data and dashboards; names, size and TTL come from spring.cache.* in application.properties.
+// The cache advice runs outside @Transactional so a hit never opens a transaction or borrows a connection.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+}
@@ -0,0 +1,30 @@
+package com.example.timesheet.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Runs independent dashboard sub-queries side by side. Every running task holds a database connection,
+// so the pool is fixed and kept below the connection pool size. Not a default candidate, so Boot keeps
+// its own applicationTaskExecutor for MVC async requests.
+@Configuration
+public class DashboardExecutorConfig {
+
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${timesheet.dashboard.fan-out.pool-size:6}") int poolSize,
+            @Value("${timesheet.dashboard.fan-out.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        // When saturated the request thread runs the query itself rather than failing the dashboard
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
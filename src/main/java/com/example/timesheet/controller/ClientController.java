@@ -3,6 +3,7 @@ package com.example.timesheet.controller;
 import com.example.timesheet.common.annotations.RequiresKeycloakAuthorization;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.exceptions.TimeSheetException;
 import com.example.timesheet.utils.FilterUtil;
@@ -48,12 +49,28 @@ public class ClientController {
             @RequestParam int offset,
             @RequestParam int limit,
             @RequestParam Map<String, String> allParams,
+            @RequestParam(required = false, name = "sort") String sortParam,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
+        List<SortRequest> sorts = SortUtil.parseSort(sortParam);
+
+        return ResponseEntity.ok(clientService.getAllClients(offset, limit, filters, sorts, withTotal));
+    }
+
+    //Get Clients After Cursor
+    @GetMapping("/clients/cursor")
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_ADMIN_CCMPM, scope = AuthorizationConstants.CLIENT_GET)
+    public ResponseEntity<CursorPagedResponse<ClientResponseDto>> getClientsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam Map<String, String> allParams,
             @RequestParam(required = false, name = "sort") String sortParam) {
 
         List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
         List<SortRequest> sorts = SortUtil.parseSort(sortParam);
 
-        return ResponseEntity.ok(clientService.getAllClients(offset, limit, filters, sorts));
+        return ResponseEntity.ok(clientService.getClientsAfter(after, limit, filters, sorts));
     }
 
     //Get Client By ID
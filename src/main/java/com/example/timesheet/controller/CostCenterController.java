@@ -4,6 +4,7 @@ import com.example.timesheet.common.annotations.RequiresKeycloakAuthorization;
 import com.example.timesheet.common.constants.AuthorizationConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.dto.request.CostCenterDto;
 import com.example.timesheet.dto.response.CostCenterResponseDto;
@@ -46,11 +47,25 @@ public class CostCenterController {
             @RequestParam(defaultValue = "0") int offset,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam Map<String, String> allParams,
+            @RequestParam(name = "sort", required = false) String sortParam,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
+        List<SortRequest> sorts = SortUtil.parseSort(sortParam);
+        return ResponseEntity.ok(costCenterService.getAllCostCenters(offset, limit, filters, sorts, withTotal));
+    }
+
+    @GetMapping("/cost-centers/cursor")
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_ADMIN_CCMPM, scope = AuthorizationConstants.COSTCENTER_GET)
+    public ResponseEntity<CursorPagedResponse<CostCenterResponseDto>> getCostCentersAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam Map<String, String> allParams,
             @RequestParam(name = "sort", required = false) String sortParam) {
 
         List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
         List<SortRequest> sorts = SortUtil.parseSort(sortParam);
-        return ResponseEntity.ok(costCenterService.getAllCostCenters(offset, limit, filters, sorts));
+        return ResponseEntity.ok(costCenterService.getCostCentersAfter(after, limit, filters, sorts));
     }
 
     @GetMapping("/cost-centers/all")
@@ -2,6 +2,7 @@ package com.example.timesheet.controller;
 
 import com.example.timesheet.common.annotations.RequiresKeycloakAuthorization;
 import com.example.timesheet.common.constants.AuthorizationConstants;
+import com.example.timesheet.dto.projection.ResourceVersionView;
 import com.example.timesheet.dto.response.ccmanagerdashboard.CCManagerDashboardDto;
 import com.example.timesheet.dto.response.employeedashboard.EmployeeDashboardDto;
 import com.example.timesheet.dto.response.managerdashboard.ManagerDashboardDto;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/tms")
@@ -26,9 +28,14 @@ public class DashboardController {
     public ResponseEntity<ManagerDashboardDto> getManagerDashboard(
             @PathVariable String managerCode,
             @RequestParam int year,
-            @RequestParam int month) {
+            @RequestParam int month,
+            WebRequest webRequest) {
 
-        ManagerDashboardDto dashboard = dashboardService.getEmployeesTimesheetUnderManager(managerCode, year, month);
+        ResourceVersionView version = dashboardService.getManagerDashboardVersion(managerCode, year, month);
+        if (version.exists() && webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        ManagerDashboardDto dashboard = dashboardService.getEmployeesTimesheetUnderManager(managerCode, year, month, version.etag());
         return ResponseEntity.ok(dashboard);
     }
 
@@ -37,8 +44,13 @@ public class DashboardController {
     public ResponseEntity<EmployeeDashboardDto> getEmployeeDashboard(
             @PathVariable String employeeCode,
             @RequestParam int year,
-            @RequestParam int month) {
-        return ResponseEntity.ok(dashboardService.getEmployeeDashboard(employeeCode, year, month));
+            @RequestParam int month,
+            WebRequest webRequest) {
+        ResourceVersionView version = dashboardService.getEmployeeDashboardVersion(employeeCode, year, month);
+        if (version.exists() && webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok(dashboardService.getEmployeeDashboard(employeeCode, year, month, version.etag()));
     }
 
     @GetMapping("/project-manager-dashboard/{projectManagerCode}")
@@ -4,6 +4,7 @@ import com.example.timesheet.common.annotations.RequiresKeycloakAuthorization;
 import com.example.timesheet.common.constants.AuthorizationConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.exceptions.TimeSheetException;
 import com.example.timesheet.utils.FilterUtil;
@@ -90,14 +91,29 @@ public class ProjectManagementController {
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_ADMIN_CCMPM, scope = AuthorizationConstants.PROJECT_GET)
     public ResponseEntity<PagedResponse<ProjectResponseDto>> getAllProjects(
             @RequestParam(required = false) Integer offset,
-            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam Map<String, String> allParams,
+            @RequestParam(required = false, name = "sort") String sortParam,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
+        List<SortRequest> sorts = SortUtil.parseSort(sortParam);
+
+        return ResponseEntity.ok(projectManagementService.getAllProjects(offset, limit, filters, sorts, withTotal));
+    }
+
+    @GetMapping("/projects/cursor")
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_ADMIN_CCMPM, scope = AuthorizationConstants.PROJECT_GET)
+    public ResponseEntity<CursorPagedResponse<ProjectResponseDto>> getProjectsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
             @RequestParam Map<String, String> allParams,
             @RequestParam(required = false, name = "sort") String sortParam) {
 
         List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
         List<SortRequest> sorts = SortUtil.parseSort(sortParam);
 
-        return ResponseEntity.ok(projectManagementService.getAllProjects(offset, limit, filters, sorts));
+        return ResponseEntity.ok(projectManagementService.getProjectsAfter(after, limit, filters, sorts));
     }
 
     @GetMapping("/projects/{projectCode}")
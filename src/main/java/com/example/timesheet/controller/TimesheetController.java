@@ -1,19 +1,30 @@
 package com.example.timesheet.controller;
 
+import com.example.timesheet.common.annotations.Idempotent;
 import com.example.timesheet.common.annotations.RequiresKeycloakAuthorization;
 import com.example.timesheet.common.constants.AuthorizationConstants;
+import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.projection.ResourceVersionView;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.dto.request.DailyTimesheetDto;
 import com.example.timesheet.dto.request.ManagerApprovalRequestDto;
+import com.example.timesheet.dto.request.MonthlyTimesheetSubmitDto;
 import com.example.timesheet.dto.request.TimesheetSummaryDto;
 import com.example.timesheet.dto.response.TimesheetMatrixRowResponseDto;
 import com.example.timesheet.dto.response.DailyTimesheetResponseWithStatus;
+import com.example.timesheet.dto.response.ManagerApprovalResultDto;
+import com.example.timesheet.dto.response.MonthlySubmissionResponseDto;
+import com.example.timesheet.messaging.DailyEntryPublisher;
 import com.example.timesheet.service.TimesheetService;
 import com.example.timesheet.utils.FilterUtil;
+import com.example.timesheet.utils.NdjsonUtil;
 import com.example.timesheet.utils.SortUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,6 +33,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.sql.Date;
 import java.util.List;
@@ -33,30 +46,56 @@ import java.util.Map;
 public class TimesheetController {
 
     private final TimesheetService timesheetService;
+    private final ObjectProvider<DailyEntryPublisher> dailyEntryPublisher;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/timesheets/daily")
+    @Idempotent
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_EMPLOYEE, scope = AuthorizationConstants.TIMESHEET_ADD)
     public ResponseEntity<String> saveDailyEntry(@RequestBody DailyTimesheetDto dto) {
+        // In async ingestion mode the entries are queued and written by the Kafka consumer
+        DailyEntryPublisher publisher = dailyEntryPublisher.getIfAvailable();
+        if (publisher != null) {
+            String trackingId = publisher.publish(dto);
+            return ResponseEntity.accepted().body(String.format(MessageConstants.DAILY_TIMESHEET_ACCEPTED, trackingId));
+        }
         String response = timesheetService.saveDailyEntry(dto);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/timesheets/weekly")
+    @Idempotent
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_EMPLOYEE, scope = AuthorizationConstants.TIMESHEET_ADD)
     public ResponseEntity<String> submitWeeklyTimesheet(@RequestBody TimesheetSummaryDto dto) {
         String response = timesheetService.submitTimesheetSummary(dto);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/timesheets/monthly")
+    @Idempotent
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_EMPLOYEE, scope = AuthorizationConstants.TIMESHEET_ADD)
+    public ResponseEntity<MonthlySubmissionResponseDto> submitMonthlyTimesheet(@RequestBody MonthlyTimesheetSubmitDto dto) {
+        MonthlySubmissionResponseDto response = timesheetService.submitMonth(dto);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/timesheets")
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_RM, scope = AuthorizationConstants.APPROVE_ADD)
-    public ResponseEntity<List<String>> managerApproval(@RequestBody List<ManagerApprovalRequestDto> dtoList) {
-        List<String> responses = dtoList.stream()
-                .map(timesheetService::approveOrRejectWeekly)
-                .toList();
+    public ResponseEntity<List<ManagerApprovalResultDto>> managerApproval(@RequestBody List<ManagerApprovalRequestDto> dtoList) {
+        List<ManagerApprovalResultDto> responses = timesheetService.approveOrRejectWeeklyBatch(dtoList);
         return ResponseEntity.ok(responses);
     }
 
+    // Approves every submitted week of the manager's reports in a few bulk updates; weeks in other statuses are left alone
+    @PostMapping("/timesheets/managers/{managerCode}/approve-all")
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_RM, scope = AuthorizationConstants.APPROVE_ADD)
+    public ResponseEntity<String> approveAllUnderManager(@PathVariable String managerCode,
+                                                         @RequestBody ManagerApprovalRequestDto dto) {
+        dto.setManagerCode(managerCode);
+        int approved = timesheetService.approveAllUnderManagerForWeek(dto);
+        return ResponseEntity.ok(String.format(MessageConstants.APPROVED_ALL_TIMESHEETS_FOR_WEEK, approved, dto.getWeekStart()));
+    }
+
     @GetMapping("/timesheets/{employeeCode}")
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_RMEMP, scope = AuthorizationConstants.TIMESHEET_GET)
     public ResponseEntity<List<TimesheetMatrixRowResponseDto>> getTimesheet(@PathVariable String employeeCode,
@@ -69,7 +108,13 @@ public class TimesheetController {
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_RMEMP, scope = AuthorizationConstants.TIMESHEET_GET)
     public ResponseEntity<DailyTimesheetResponseWithStatus> getDailyEntries(
             @PathVariable String employeeCode,
-            @PathVariable Date weekStart) {
+            @PathVariable Date weekStart,
+            WebRequest webRequest) {
+        // Polling clients revalidate with If-None-Match / If-Modified-Since; unchanged weeks get a bodyless 304
+        ResourceVersionView version = timesheetService.getWeekVersion(employeeCode, weekStart);
+        if (version.exists() && webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         DailyTimesheetResponseWithStatus dailyEntries = timesheetService.getDailyEntries(employeeCode, weekStart);
         return ResponseEntity.ok(dailyEntries);
     }
@@ -83,12 +128,13 @@ public class TimesheetController {
             @RequestParam int offset,
             @RequestParam int limit,
             @RequestParam Map<String, String> allParams,
-            @RequestParam(required = false, name = "sort") String sortParam) {
+            @RequestParam(required = false, name = "sort") String sortParam,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
         List<SortRequest> sorts = SortUtil.parseSort(sortParam);
 
-        return ResponseEntity.ok(timesheetService.getEmployeesTimesheetUnderManager(managerCode, year, month, offset, limit, filters, sorts));
+        return ResponseEntity.ok(timesheetService.getEmployeesTimesheetUnderManager(managerCode, year, month, offset, limit, filters, sorts, withTotal));
     }
     @GetMapping("/timesheets/users")
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_ADMIN, scope = AuthorizationConstants.TIMESHEET_GET)
@@ -98,11 +144,24 @@ public class TimesheetController {
             @RequestParam int offset,
             @RequestParam int limit,
             @RequestParam Map<String, String> allParams,
-            @RequestParam(required = false, name = "sort") String sortParam) {
+            @RequestParam(required = false, name = "sort") String sortParam,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         List<FilterRequest> filters = FilterUtil.parseFilters(allParams);
         List<SortRequest> sorts = SortUtil.parseSort(sortParam);
 
-        return ResponseEntity.ok(timesheetService.getEmployeesTimesheet(year, month, offset, limit, filters, sorts));
+        return ResponseEntity.ok(timesheetService.getEmployeesTimesheet(year, month, offset, limit, filters, sorts, withTotal));
+    }
+
+    // Org-wide export as NDJSON: rows are written while the database cursor is read, so heap use stays flat
+    @GetMapping(value = "/timesheets/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.TMS_ADMIN, scope = AuthorizationConstants.TIMESHEET_GET)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesTimesheet(
+            @RequestParam int year,
+            @RequestParam int month) {
+
+        StreamingResponseBody body = out -> NdjsonUtil.<ManagerApprovalRequestDto>write(out, objectMapper,
+                sink -> timesheetService.streamEmployeesTimesheet(year, month, sink));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 }
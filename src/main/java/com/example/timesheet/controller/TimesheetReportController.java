@@ -2,14 +2,19 @@ package com.example.timesheet.controller;
 
 import com.example.timesheet.common.annotations.RequiresKeycloakAuthorization;
 import com.example.timesheet.common.constants.AuthorizationConstants;
+import com.example.timesheet.dto.projection.DailyEntryExportView;
 import com.example.timesheet.service.TimesheetReportService;
+import com.example.timesheet.utils.NdjsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 
 @RestController
@@ -18,6 +23,8 @@ import java.time.LocalDate;
 public class TimesheetReportController {
 
     private final TimesheetReportService timesheetReportService;
+    private final ObjectMapper objectMapper;
+
     @GetMapping("/timesheets/report")
     @RequiresKeycloakAuthorization(resource = AuthorizationConstants.MANAGER_COM, scope = AuthorizationConstants.COM_MANAGER_GET)
     public ResponseEntity<String> downloadReport(
@@ -30,5 +37,16 @@ public class TimesheetReportController {
         return timesheetReportService.generateReport(year, month, projectCode, startDate, endDate);
     }
 
+    // Raw report rows as NDJSON, streamed from a database cursor instead of being collected per project
+    @GetMapping(value = "/timesheets/report/entries", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RequiresKeycloakAuthorization(resource = AuthorizationConstants.MANAGER_COM, scope = AuthorizationConstants.COM_MANAGER_GET)
+    public ResponseEntity<StreamingResponseBody> streamReportEntries(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(required = false) String projectCode) {
 
+        StreamingResponseBody body = out -> NdjsonUtil.<DailyEntryExportView>write(out, objectMapper,
+                sink -> timesheetReportService.streamMonthlyTimesheetData(year, month, projectCode, sink));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.timesheet.dto.paginationdto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Keyset page: no total count, pass nextCursor as "after" to fetch the following page
+@Getter
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -2,6 +2,8 @@ package com.example.timesheet.dto.paginationdto.response;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 @Getter
@@ -10,9 +12,11 @@ public class PagedResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Null when the page was fetched without a count (withTotal=false)
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
+    private boolean hasNext;
 
     public PagedResponse(List<T> content, int page, int size, long totalElements) {
         this.content = content;
@@ -21,7 +25,22 @@ public class PagedResponse<T> {
         this.totalElements = totalElements;
         this.totalPages = (int) Math.ceil((double) totalElements / size);
         this.last = page == totalPages - 1;
+        this.hasNext = page < totalPages - 1;
     }
 
-}
+    public PagedResponse(List<T> content, int page, int size, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.last = !hasNext;
+        this.hasNext = hasNext;
+    }
+
+    public static <T> PagedResponse<T> of(Slice<?> slice, List<T> content) {
+        if (slice instanceof Page<?> page) {
+            return new PagedResponse<>(content, page.getNumber(), page.getSize(), page.getTotalElements());
+        }
+        return new PagedResponse<>(content, slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
 
+}
@@ -0,0 +1,19 @@
+package com.example.timesheet.dto.projection;
+
+import com.example.timesheet.enums.EntryType;
+
+import java.sql.Date;
+
+// One daily row of a report export, read column by column so no entity enters the persistence context
+public record DailyEntryExportView(
+        String employeeCode,
+        Integer timesheetYear,
+        Integer timesheetMonth,
+        Date workDate,
+        String projectCode,
+        EntryType entryType,
+        Double hoursSpent,
+        String description,
+        Boolean modifiedByManager
+) {
+}
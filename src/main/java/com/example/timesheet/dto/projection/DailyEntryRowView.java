@@ -0,0 +1,22 @@
+package com.example.timesheet.dto.projection;
+
+import com.example.timesheet.enums.EntryType;
+import com.example.timesheet.enums.TimeSheetStatus;
+
+import java.sql.Date;
+
+// A week's summary joined with one of its daily rows; the row columns are null when the week has no entries
+public record DailyEntryRowView(
+        TimeSheetStatus status,
+        String managerComment,
+        String employeeCode,
+        Integer timesheetYear,
+        Integer timesheetMonth,
+        Date workDate,
+        String projectCode,
+        EntryType entryType,
+        Double hoursSpent,
+        String description,
+        Boolean modifiedByManager
+) {
+}
@@ -0,0 +1,5 @@
+package com.example.timesheet.dto.projection;
+
+// The few project columns other screens need when they only have a project code
+public record ProjectReference(String projectCode, String title, String projectManagerCode) {
+}
@@ -0,0 +1,23 @@
+package com.example.timesheet.dto.projection;
+
+import java.sql.Timestamp;
+
+// Cheap fingerprint of the rows behind a read endpoint, used for ETag / Last-Modified validation
+public interface ResourceVersionView {
+    Timestamp getLastModified();
+    Long getRowCount();
+    Long getVersionSum();
+
+    default boolean exists() {
+        return getRowCount() != null && getRowCount() > 0;
+    }
+
+    default long lastModifiedMillis() {
+        return getLastModified() == null ? -1 : getLastModified().getTime();
+    }
+
+    // Row count and version sum change on deletes and on same-millisecond writes that the timestamp misses
+    default String etag() {
+        return String.format("\"%x-%x-%x\"", lastModifiedMillis(), getRowCount(), getVersionSum());
+    }
+}
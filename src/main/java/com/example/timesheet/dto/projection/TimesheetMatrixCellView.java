@@ -0,0 +1,10 @@
+package com.example.timesheet.dto.projection;
+
+import java.sql.Date;
+
+// One cell of the employee monthly matrix: hours of a row key within one ISO week
+public interface TimesheetMatrixCellView {
+    String getRowKey();
+    Date getWeekStart();
+    Double getHours();
+}
@@ -0,0 +1,16 @@
+package com.example.timesheet.dto.projection;
+
+import com.example.timesheet.enums.TimeSheetStatus;
+import com.example.timesheet.keys.TimesheetSummaryId;
+
+import java.sql.Timestamp;
+
+// Read-only view of a weekly summary for list and dashboard screens
+public interface TimesheetSummaryView {
+    TimesheetSummaryId getId();
+    Double getTotalHours();
+    TimeSheetStatus getStatus();
+    Timestamp getSubmittedDate();
+    String getApprovedBy();
+    String getManagerComment();
+}
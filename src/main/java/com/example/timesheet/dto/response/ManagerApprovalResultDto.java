@@ -0,0 +1,17 @@
+package com.example.timesheet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ManagerApprovalResultDto {
+    private String employeeCode;
+    private Date weekStart;
+    private boolean success;
+    private String message;
+}
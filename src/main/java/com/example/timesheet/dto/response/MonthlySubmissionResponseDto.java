@@ -0,0 +1,18 @@
+package com.example.timesheet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySubmissionResponseDto {
+    private String employeeCode;
+    private Integer timesheetYear;
+    private Integer timesheetMonth;
+    private List<Date> submittedWeeks;
+}
@@ -0,0 +1,14 @@
+package com.example.timesheet.events;
+
+// Published when a project or its assignments change. An ownership change (manager, cost center,
+// active flag) can move the project between portfolios, so every PM and CCM dashboard is dropped.
+public record ProjectChangedEvent(String projectCode, boolean ownershipChanged) {
+
+    public static ProjectChangedEvent assignments(String projectCode) {
+        return new ProjectChangedEvent(projectCode, false);
+    }
+
+    public static ProjectChangedEvent ownership(String projectCode) {
+        return new ProjectChangedEvent(projectCode, true);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.timesheet.events;
+
+import com.example.timesheet.keys.TimesheetSummaryId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// Published by timesheet writes and approvals; dashboards covering these weeks are evicted after commit
+public record TimesheetChangedEvent(Collection<TimesheetSummaryId> weeks, Set<String> approverCodes) {
+
+    public static TimesheetChangedEvent of(TimesheetSummaryId week) {
+        return of(List.of(week));
+    }
+
+    public static TimesheetChangedEvent of(Collection<TimesheetSummaryId> weeks) {
+        return new TimesheetChangedEvent(weeks, Set.of());
+    }
+
+    public static TimesheetChangedEvent decided(Collection<TimesheetSummaryId> weeks, Set<String> approverCodes) {
+        return new TimesheetChangedEvent(weeks, approverCodes);
+    }
+}
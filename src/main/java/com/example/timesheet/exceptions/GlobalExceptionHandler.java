@@ -9,6 +9,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -38,11 +39,12 @@ public class GlobalExceptionHandler {
     private HttpStatus resolveHttpStatus(String errorCode) {
         return switch (errorCode) {
             case ErrorCode.NOT_FOUND_ERROR -> HttpStatus.NOT_FOUND;
-            case ErrorCode.CONFLICT_ERROR -> HttpStatus.CONFLICT;
+            case ErrorCode.CONFLICT_ERROR, ErrorCode.STATUS_CONFLICT_ERROR -> HttpStatus.CONFLICT;
             case ErrorCode.FORBIDDEN_ERROR -> HttpStatus.FORBIDDEN;
             case ErrorCode.UNAUTHORIZED_ERROR -> HttpStatus.UNAUTHORIZED;
             case ErrorCode.VALIDATION_ERROR -> HttpStatus.BAD_REQUEST;
             case ErrorCode.INTERNAL_SERVER_ERROR -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case ErrorCode.SERVICE_UNAVAILABLE_ERROR -> HttpStatus.SERVICE_UNAVAILABLE;
             default -> HttpStatus.BAD_REQUEST;
         };
     }
@@ -90,6 +92,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        ErrorResponse response = ErrorResponse.builder()
+                .error_code(ErrorCode.STATUS_CONFLICT_ERROR)
+                .message(ErrorMessage.TIMESHEET_CONCURRENT_UPDATE)
+                .property("")
+                .build();
+
+        log.warn("Optimistic lock conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(SecurityException.class)
     public ResponseEntity<ErrorResponse> handleForbidden(SecurityException ex) {
         ErrorResponse response = ErrorResponse.builder()
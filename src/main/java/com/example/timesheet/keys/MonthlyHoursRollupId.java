@@ -0,0 +1,36 @@
+package com.example.timesheet.keys;
+
+import com.example.timesheet.enums.EntryType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyHoursRollupId implements Serializable {
+
+    // Empty for leave, holiday and other non-project entries, which carry no project code
+    @Column(name = "project_code", nullable = false)
+    private String projectCode;
+
+    @Column(name = "employee_code", nullable = false)
+    private String employeeCode;
+
+    @Column(name = "timesheet_year", nullable = false)
+    private Integer timesheetYear;
+
+    @Column(name = "timesheet_month", nullable = false)
+    private Integer timesheetMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private EntryType entryType;
+}
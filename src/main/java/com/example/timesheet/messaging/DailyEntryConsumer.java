@@ -0,0 +1,46 @@
+package com.example.timesheet.messaging;
+
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.service.TimesheetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "timesheet.ingestion.mode", havingValue = "async")
+public class DailyEntryConsumer {
+
+    private final TimesheetService timesheetService;
+
+    @KafkaListener(
+            topics = "${timesheet.ingestion.topic}",
+            groupId = "${timesheet.ingestion.group-id}",
+            containerFactory = KafkaIngestionConfig.LISTENER_CONTAINER_FACTORY
+    )
+    public void consume(List<DailyEntryMessage> messages) {
+        try {
+            timesheetService.saveDailyEntries(messages.stream().map(DailyEntryMessage::getPayload).toList());
+            log.debug("Saved {} daily entry messages", messages.size());
+        } catch (RuntimeException batchFailure) {
+            // One bad message rolls back the whole batch; replay one by one so the rest still land
+            log.warn("Batch of {} daily entry messages failed, retrying individually", messages.size(), batchFailure);
+            for (int i = 0; i < messages.size(); i++) {
+                DailyEntryMessage message = messages.get(i);
+                try {
+                    timesheetService.saveDailyEntry(message.getPayload());
+                } catch (TimeSheetException ex) {
+                    log.error("Dropping daily entries {}: {}", message.getTrackingId(), ex.getMessage());
+                } catch (RuntimeException ex) {
+                    throw new BatchListenerFailedException("Failed to save daily entries " + message.getTrackingId(), ex, i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.timesheet.messaging;
+
+import com.example.timesheet.dto.request.DailyTimesheetDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyEntryMessage {
+
+    private String trackingId;
+
+    private DailyTimesheetDto payload;
+}
@@ -0,0 +1,68 @@
+package com.example.timesheet.messaging;
+
+import com.example.timesheet.common.constants.ErrorCode;
+import com.example.timesheet.common.constants.ErrorMessage;
+import com.example.timesheet.dto.request.DailyTimesheetDto;
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.service.TimesheetService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "timesheet.ingestion.mode", havingValue = "async")
+public class DailyEntryPublisher {
+
+    private final KafkaTemplate<String, DailyEntryMessage> dailyEntryKafkaTemplate;
+    private final TimesheetService timesheetService;
+    private final Validator validator;
+
+    @Value("${timesheet.ingestion.topic}")
+    private String topic;
+
+    @Value("${timesheet.ingestion.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    // Rejects bad payloads up front, since the consumer has no caller to report them to
+    public String publish(DailyTimesheetDto dto) {
+        Set<ConstraintViolation<DailyTimesheetDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        timesheetService.validateDailyEntry(dto);
+
+        String trackingId = UUID.randomUUID().toString();
+        // Keyed by employee so one employee's saves stay on one partition, in order.
+        // The 202 is only returned once the broker has acknowledged the message; otherwise the caller gets a 503 and retries.
+        try {
+            dailyEntryKafkaTemplate.send(topic, dto.getEmployeeCode(), new DailyEntryMessage(trackingId, dto))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw notQueued(trackingId, dto, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw notQueued(trackingId, dto, e);
+        }
+        return trackingId;
+    }
+
+    private TimeSheetException notQueued(String trackingId, DailyTimesheetDto dto, Exception cause) {
+        log.error("Failed to publish daily entries {} for {}", trackingId, dto.getEmployeeCode(), cause);
+        return new TimeSheetException(ErrorCode.SERVICE_UNAVAILABLE_ERROR,
+                String.format(ErrorMessage.DAILY_ENTRIES_NOT_QUEUED, dto.getEmployeeCode()), cause);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.timesheet.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+// Only active when daily entries are ingested through Kafka (timesheet.ingestion.mode=async)
+@Configuration
+@ConditionalOnProperty(name = "timesheet.ingestion.mode", havingValue = "async")
+public class KafkaIngestionConfig {
+
+    public static final String LISTENER_CONTAINER_FACTORY = "dailyEntryListenerContainerFactory";
+
+    @Value("${timesheet.ingestion.topic}")
+    private String topic;
+
+    @Value("${timesheet.ingestion.partitions:6}")
+    private int partitions;
+
+    @Value("${timesheet.ingestion.replicas:1}")
+    private int replicas;
+
+    @Value("${timesheet.ingestion.concurrency:3}")
+    private int concurrency;
+
+    @Bean
+    public NewTopic dailyEntryTopic() {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    // Uses the application's ObjectMapper so dates travel exactly as they arrive on the REST endpoint
+    @Bean
+    public ProducerFactory<String, DailyEntryMessage> dailyEntryProducerFactory(KafkaProperties kafkaProperties,
+                                                                                ObjectMapper objectMapper) {
+        return new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null),
+                new StringSerializer(), new JsonSerializer<>(objectMapper));
+    }
+
+    @Bean
+    public KafkaTemplate<String, DailyEntryMessage> dailyEntryKafkaTemplate(
+            ProducerFactory<String, DailyEntryMessage> dailyEntryProducerFactory) {
+        return new KafkaTemplate<>(dailyEntryProducerFactory);
+    }
+
+    @Bean
+    public ConsumerFactory<String, DailyEntryMessage> dailyEntryConsumerFactory(KafkaProperties kafkaProperties,
+                                                                                ObjectMapper objectMapper) {
+        return new DefaultKafkaConsumerFactory<>(kafkaProperties.buildConsumerProperties(null),
+                new StringDeserializer(), new JsonDeserializer<>(DailyEntryMessage.class, objectMapper, false));
+    }
+
+    @Bean(LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, DailyEntryMessage> dailyEntryListenerContainerFactory(
+            ConsumerFactory<String, DailyEntryMessage> dailyEntryConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, DailyEntryMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(dailyEntryConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.timesheet.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Local copy of the identity service's users; listings join it in SQL and lookups read it through an in-memory index
+@Entity
+@Table(name = "employee_directory",
+        indexes = @Index(name = "idx_employee_directory_manager", columnList = "manager_code"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeDirectory {
+
+    @Id
+    @Column(name = "employee_code", length = 64)
+    private String employeeCode;
+
+    @Column(name = "manager_code", length = 64)
+    private String managerCode;
+
+    @Column(name = "keycloak_user_id")
+    private String keycloakUserId;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "employee_type")
+    private String employeeType;
+
+    @Column(name = "synced_on", nullable = false)
+    private LocalDateTime syncedOn;
+}
@@ -0,0 +1,32 @@
+package com.example.timesheet.models;
+
+import com.example.timesheet.keys.MonthlyHoursRollupId;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Hours and entry counts of daily_time_sheet per project, employee, month and entry type.
+// Kept current by the daily-entry write paths and repaired by MonthlyHoursRollupRebuilder.
+@Entity
+@Table(name = "monthly_hours_rollup",
+        indexes = @Index(name = "idx_monthly_hours_rollup_project_month",
+                columnList = "project_code, timesheet_year, timesheet_month"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class MonthlyHoursRollup {
+
+    @EmbeddedId
+    private MonthlyHoursRollupId id;
+
+    @Column(name = "total_hours", nullable = false)
+    private Double totalHours;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+}
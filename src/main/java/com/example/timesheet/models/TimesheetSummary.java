@@ -7,17 +7,23 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Version;
 
 import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+@DynamicUpdate
 public class TimesheetSummary {
 
     @EmbeddedId
@@ -38,4 +44,14 @@ public class TimesheetSummary {
 
     @Column(length = 1000)
     private String managerComment;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Bulk updates bypass the entity lifecycle and set this column themselves
+    @UpdateTimestamp
+    @Column(name = "updated_on")
+    private LocalDateTime updatedOn;
 }
@@ -1,25 +1,63 @@
 package com.example.timesheet.repository;
 
+import com.example.timesheet.dto.projection.DailyEntryExportView;
+import com.example.timesheet.dto.projection.TimesheetMatrixCellView;
 import com.example.timesheet.enums.EntryType;
 import com.example.timesheet.models.DailyTimeSheet;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Stream;
 
 
-public interface DailyTimeSheetRepository extends JpaRepository<DailyTimeSheet, Long> {
+public interface DailyTimeSheetRepository extends JpaRepository<DailyTimeSheet, Long>, DailyTimeSheetRepositoryCustom {
 
     List<DailyTimeSheet> findByEmployeeCodeAndWorkDateBetween(String employeeCode, Date start, Date end);
-    List<DailyTimeSheet> findByProjectCodeIn(List<String> projectCodes);
+    List<DailyTimeSheet> findByEmployeeCodeInAndWorkDateBetween(Collection<String> employeeCodes, Date start, Date end);
 
 
     List<DailyTimeSheet> findByEmployeeCodeAndTimesheetYearAndTimesheetMonth(String employeeCode, Integer year, Integer month);
 
+    // Export cursor: rows arrive from the server in fetch-size chunks and must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT new com.example.timesheet.dto.projection.DailyEntryExportView(
+        d.employeeCode, d.timesheetYear, d.timesheetMonth, d.workDate,
+        d.projectCode, d.entryType, d.hoursSpent, d.description, d.modifiedByManager)
+    FROM DailyTimeSheet d
+    WHERE d.timesheetYear = :year
+      AND d.timesheetMonth = :month
+      AND (:projectCode IS NULL OR d.projectCode = :projectCode)
+    ORDER BY d.employeeCode, d.workDate, d.id
+""")
+    Stream<DailyEntryExportView> streamMonthEntries(Integer year, Integer month, String projectCode);
+
+    // Rows are project titles for PROJECT entries and the entry type otherwise; weeks start on Monday
+    @Query(value = """
+    SELECT CASE WHEN d.entry_type = 'PROJECT' THEN COALESCE(p.title, 'Unknown Project')
+                ELSE d.entry_type END AS rowKey,
+           CAST(date_trunc('week', d.work_date) AS date) AS weekStart,
+           SUM(d.hours_spent) AS hours
+    FROM daily_time_sheet d
+    LEFT JOIN project p ON p.project_code = d.project_code
+    WHERE d.employee_code = :employeeCode
+      AND d.timesheet_year = :year
+      AND d.timesheet_month = :month
+    GROUP BY 1, 2
+    ORDER BY MIN(d.work_date), 2
+""", nativeQuery = true)
+    List<TimesheetMatrixCellView> findMonthlyMatrixCells(@Param("employeeCode") String employeeCode,
+                                                         @Param("year") Integer year,
+                                                         @Param("month") Integer month);
+
     @Query("""
     SELECT SUM(d.hoursSpent)
     FROM DailyTimeSheet d
@@ -45,6 +83,10 @@ public interface DailyTimeSheetRepository extends JpaRepository<DailyTimeSheet,
     );
 
     List<DailyTimeSheet> findByTimesheetYearAndTimesheetMonth(int year, int month);
+
+    // First and last month with daily rows, for the rollup backfill
+    Optional<DailyTimeSheet> findFirstByOrderByTimesheetYearAscTimesheetMonthAsc();
+    Optional<DailyTimeSheet> findFirstByOrderByTimesheetYearDescTimesheetMonthDesc();
     List<DailyTimeSheet> findByTimesheetYearAndTimesheetMonthAndProjectCode(int year, int month, String projectCode);
 
     List<DailyTimeSheet> findByTimesheetYearAndTimesheetMonthAndEmployeeCodeInAndEntryTypeIn(
@@ -59,17 +101,5 @@ public interface DailyTimeSheetRepository extends JpaRepository<DailyTimeSheet,
     List<DailyTimeSheet> findByWorkDateBetweenAndEmployeeCodeInAndEntryTypeIn(
             Date startDate, Date endDate, List<String> employeeCodes, List<EntryType> entryTypes);
 
-    @Query("""
-    SELECT d.projectCode, SUM(d.hoursSpent)
-    FROM DailyTimeSheet d
-    WHERE d.projectCode IN :projectCodes
-      AND (:year IS NULL OR d.timesheetYear = :year)
-      AND (:month IS NULL OR d.timesheetMonth = :month)
-    GROUP BY d.projectCode
-""")
-    List<Object[]> findTotalHoursPerProject(@Param("projectCodes") Set<String> projectCodes,
-                                            @Param("year") Integer year,
-                                            @Param("month") Integer month);
-
 
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.models.DailyTimeSheet;
+
+import java.util.List;
+
+public interface DailyTimeSheetRepositoryCustom {
+
+    /**
+     * Inserts or updates the given rows by their business key
+     * (employee, year, month, work date, entry type, project) in one statement per batch.
+     *
+     * @param entries rows to write; ids are ignored
+     * @return net change in hours spent across the written rows
+     */
+    double upsertAll(List<DailyTimeSheet> entries);
+}
@@ -0,0 +1,172 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.models.DailyTimeSheet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class DailyTimeSheetRepositoryCustomImpl implements DailyTimeSheetRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String VARCHAR = "varchar";
+
+    // The whole batch is bound as column arrays. Existing rows are matched with IS NOT DISTINCT FROM
+    // because non-project entries carry a NULL project code, which never conflicts on the unique key;
+    // ON CONFLICT only guards against a concurrent insert of the same project row (its hours then count fully
+    // towards the returned delta, which the summary reconciliation corrects).
+    // The same statement adds the per-key deltas to monthly_hours_rollup, so the rollup commits with the rows;
+    // the race above over-counts there too until MonthlyHoursRollupRebuilder runs. The rollup lock is held shared
+    // first, so a concurrent rebuild either sees these rows or runs before the deltas are added.
+    private static final String UPSERT_SQL = """
+    WITH input AS (
+        SELECT DISTINCT ON (employee_code, timesheet_year, timesheet_month, work_date, entry_type, project_code) *
+        FROM unnest(CAST(? AS varchar[]), CAST(? AS int[]), CAST(? AS int[]), CAST(? AS date[]),
+                    CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS float8[]), CAST(? AS varchar[]),
+                    CAST(? AS boolean[]))
+             WITH ORDINALITY AS i(employee_code, timesheet_year, timesheet_month, work_date, entry_type,
+                                  project_code, hours_spent, description, modified_by_manager, ord)
+        ORDER BY employee_code, timesheet_year, timesheet_month, work_date, entry_type, project_code, ord DESC
+    ),
+    previous AS (
+        SELECT d.id, i.ord, d.hours_spent AS old_hours, i.hours_spent, i.description, i.modified_by_manager
+        FROM daily_time_sheet d
+        JOIN input i
+          ON d.employee_code = i.employee_code
+         AND d.timesheet_year = i.timesheet_year
+         AND d.timesheet_month = i.timesheet_month
+         AND d.work_date = i.work_date
+         AND d.entry_type = i.entry_type
+         AND d.project_code IS NOT DISTINCT FROM i.project_code
+        FOR UPDATE OF d
+    ),
+    updated AS (
+        UPDATE daily_time_sheet d
+        SET hours_spent = p.hours_spent,
+            description = p.description,
+            modified_by_manager = COALESCE(d.modified_by_manager, FALSE) OR p.modified_by_manager,
+            updated_by = ?,
+            updated_on = ?
+        FROM previous p
+        WHERE d.id = p.id
+        RETURNING d.project_code, d.employee_code, d.timesheet_year, d.timesheet_month, d.entry_type,
+                  p.hours_spent - p.old_hours AS delta, 0 AS added
+    ),
+    inserted AS (
+        INSERT INTO daily_time_sheet (employee_code, timesheet_year, timesheet_month, work_date, entry_type,
+                                      project_code, hours_spent, description, modified_by_manager,
+                                      created_by, created_on, updated_by, updated_on)
+        SELECT i.employee_code, i.timesheet_year, i.timesheet_month, i.work_date, i.entry_type,
+               i.project_code, i.hours_spent, i.description, i.modified_by_manager,
+               ?, ?, ?, ?
+        FROM input i
+        WHERE i.ord NOT IN (SELECT ord FROM previous)
+        ON CONFLICT ON CONSTRAINT uk_timesheet_business_key DO UPDATE
+        SET hours_spent = EXCLUDED.hours_spent,
+            description = EXCLUDED.description,
+            modified_by_manager = COALESCE(daily_time_sheet.modified_by_manager, FALSE) OR EXCLUDED.modified_by_manager,
+            updated_by = EXCLUDED.updated_by,
+            updated_on = EXCLUDED.updated_on
+        RETURNING project_code, employee_code, timesheet_year, timesheet_month, entry_type,
+                  hours_spent AS delta, 1 AS added
+    ),
+    rolled_up AS (
+        INSERT INTO monthly_hours_rollup (project_code, employee_code, timesheet_year, timesheet_month, entry_type,
+                                          total_hours, entry_count)
+        SELECT COALESCE(c.project_code, ''), c.employee_code, c.timesheet_year, c.timesheet_month, c.entry_type,
+               SUM(c.delta), SUM(c.added)
+        FROM (SELECT * FROM updated UNION ALL SELECT * FROM inserted) c
+        WHERE c.entry_type IS NOT NULL
+        GROUP BY 1, 2, 3, 4, 5
+        ON CONFLICT (project_code, employee_code, timesheet_year, timesheet_month, entry_type) DO UPDATE
+        SET total_hours = monthly_hours_rollup.total_hours + EXCLUDED.total_hours,
+            entry_count = monthly_hours_rollup.entry_count + EXCLUDED.entry_count
+    )
+    SELECT COALESCE((SELECT SUM(delta) FROM updated), 0) + COALESCE((SELECT SUM(delta) FROM inserted), 0)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorProvider;
+    private final MonthlyHoursRollupRepository monthlyHoursRollupRepository;
+
+    @Override
+    public double upsertAll(List<DailyTimeSheet> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+
+        String auditor = auditorProvider.getCurrentAuditor().orElse("SYSTEM");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        monthlyHoursRollupRepository.lockForDeltas();
+
+        double delta = 0;
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<DailyTimeSheet> batch = entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()));
+            Double batchDelta = jdbcTemplate.execute(UPSERT_SQL,
+                    (PreparedStatementCallback<Double>) ps -> executeBatch(ps, batch, auditor, now));
+            delta += batchDelta == null ? 0 : batchDelta;
+        }
+        return delta;
+    }
+
+    private double executeBatch(PreparedStatement ps, List<DailyTimeSheet> batch, String auditor, Timestamp now)
+            throws SQLException {
+        int size = batch.size();
+        String[] employeeCodes = new String[size];
+        Integer[] years = new Integer[size];
+        Integer[] months = new Integer[size];
+        Date[] workDates = new Date[size];
+        String[] entryTypes = new String[size];
+        String[] projectCodes = new String[size];
+        Double[] hours = new Double[size];
+        String[] descriptions = new String[size];
+        Boolean[] modifiedByManager = new Boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            DailyTimeSheet entry = batch.get(i);
+            employeeCodes[i] = entry.getEmployeeCode();
+            years[i] = entry.getTimesheetYear();
+            months[i] = entry.getTimesheetMonth();
+            workDates[i] = entry.getWorkDate();
+            entryTypes[i] = entry.getEntryType() != null ? entry.getEntryType().name() : null;
+            projectCodes[i] = entry.getProjectCode();
+            hours[i] = entry.getHoursSpent();
+            descriptions[i] = entry.getDescription();
+            modifiedByManager[i] = Boolean.TRUE.equals(entry.getModifiedByManager());
+        }
+
+        Connection con = ps.getConnection();
+        int idx = 1;
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, employeeCodes));
+        ps.setArray(idx++, con.createArrayOf("int4", years));
+        ps.setArray(idx++, con.createArrayOf("int4", months));
+        ps.setArray(idx++, con.createArrayOf("date", workDates));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, entryTypes));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, projectCodes));
+        ps.setArray(idx++, con.createArrayOf("float8", hours));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, descriptions));
+        ps.setArray(idx++, con.createArrayOf("bool", modifiedByManager));
+        // updated rows
+        ps.setString(idx++, auditor);
+        ps.setTimestamp(idx++, now);
+        // inserted rows
+        ps.setString(idx++, auditor);
+        ps.setTimestamp(idx++, now);
+        ps.setString(idx++, auditor);
+        ps.setTimestamp(idx, now);
+
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+}
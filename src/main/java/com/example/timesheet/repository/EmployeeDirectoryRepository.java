@@ -0,0 +1,8 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.models.EmployeeDirectory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EmployeeDirectoryRepository extends JpaRepository<EmployeeDirectory, String>,
+        EmployeeDirectoryRepositoryCustom {
+}
@@ -0,0 +1,18 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.models.EmployeeDirectory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmployeeDirectoryRepositoryCustom {
+
+    /**
+     * Inserts or updates the given employees by employee code in one statement per batch.
+     *
+     * @param employees rows to write
+     * @param syncedOn  time stamped on every written row
+     * @return number of rows written
+     */
+    int upsertAll(List<EmployeeDirectory> employees, LocalDateTime syncedOn);
+}
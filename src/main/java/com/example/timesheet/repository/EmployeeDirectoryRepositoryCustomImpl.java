@@ -0,0 +1,93 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.models.EmployeeDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EmployeeDirectoryRepositoryCustomImpl implements EmployeeDirectoryRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String VARCHAR = "varchar";
+
+    private static final String UPSERT_SQL = """
+    INSERT INTO employee_directory (employee_code, manager_code, keycloak_user_id, first_name, last_name, email,
+                                    employee_type, synced_on)
+    SELECT DISTINCT ON (i.employee_code) i.employee_code, i.manager_code, i.keycloak_user_id, i.first_name,
+           i.last_name, i.email, i.employee_type, ?
+    FROM unnest(CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]),
+                CAST(? AS varchar[]), CAST(? AS varchar[]), CAST(? AS varchar[]))
+         AS i(employee_code, manager_code, keycloak_user_id, first_name, last_name, email, employee_type)
+    WHERE i.employee_code IS NOT NULL
+    ON CONFLICT (employee_code) DO UPDATE
+    SET manager_code = EXCLUDED.manager_code,
+        keycloak_user_id = EXCLUDED.keycloak_user_id,
+        first_name = EXCLUDED.first_name,
+        last_name = EXCLUDED.last_name,
+        email = EXCLUDED.email,
+        employee_type = EXCLUDED.employee_type,
+        synced_on = EXCLUDED.synced_on
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertAll(List<EmployeeDirectory> employees, LocalDateTime syncedOn) {
+        if (employees == null || employees.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp stamp = Timestamp.valueOf(syncedOn);
+        int written = 0;
+        for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+            List<EmployeeDirectory> batch = employees.subList(from, Math.min(from + BATCH_SIZE, employees.size()));
+            Integer count = jdbcTemplate.execute(UPSERT_SQL,
+                    (PreparedStatementCallback<Integer>) ps -> executeBatch(ps, batch, stamp));
+            written += count == null ? 0 : count;
+        }
+        return written;
+    }
+
+    private int executeBatch(PreparedStatement ps, List<EmployeeDirectory> batch, Timestamp syncedOn)
+            throws SQLException {
+        int size = batch.size();
+        String[] employeeCodes = new String[size];
+        String[] managerCodes = new String[size];
+        String[] keycloakUserIds = new String[size];
+        String[] firstNames = new String[size];
+        String[] lastNames = new String[size];
+        String[] emails = new String[size];
+        String[] employeeTypes = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            EmployeeDirectory employee = batch.get(i);
+            employeeCodes[i] = employee.getEmployeeCode();
+            managerCodes[i] = employee.getManagerCode();
+            keycloakUserIds[i] = employee.getKeycloakUserId();
+            firstNames[i] = employee.getFirstName();
+            lastNames[i] = employee.getLastName();
+            emails[i] = employee.getEmail();
+            employeeTypes[i] = employee.getEmployeeType();
+        }
+
+        Connection con = ps.getConnection();
+        int idx = 1;
+        ps.setTimestamp(idx++, syncedOn);
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, employeeCodes));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, managerCodes));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, keycloakUserIds));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, firstNames));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, lastNames));
+        ps.setArray(idx++, con.createArrayOf(VARCHAR, emails));
+        ps.setArray(idx, con.createArrayOf(VARCHAR, employeeTypes));
+        return ps.executeUpdate();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.enums.IdempotencyStatus;
+import com.example.timesheet.models.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Inserts an IN_PROGRESS claim, or takes over an expired one; returns 0 when the key is already held.
+    // A claim expires after a short lease, so one left behind by a crashed instance is taken over by the retry
+    @Modifying
+    @Query(value = """
+    INSERT INTO idempotency_record (idempotency_key, endpoint, request_hash, status, created_on, expires_on)
+    VALUES (:key, :endpoint, :requestHash, 'IN_PROGRESS', :now, :expiresOn)
+    ON CONFLICT (idempotency_key) DO UPDATE
+    SET endpoint = EXCLUDED.endpoint,
+        request_hash = EXCLUDED.request_hash,
+        status = EXCLUDED.status,
+        response_status = NULL,
+        response_body = NULL,
+        created_on = EXCLUDED.created_on,
+        expires_on = EXCLUDED.expires_on
+    WHERE idempotency_record.expires_on < :now
+    """, nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("endpoint") String endpoint,
+              @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now,
+              @Param("expiresOn") LocalDateTime expiresOn);
+
+    @Modifying
+    @Query("""
+    UPDATE IdempotencyRecord r
+    SET r.status = :status, r.responseStatus = :responseStatus, r.responseBody = :responseBody,
+        r.expiresOn = :expiresOn
+    WHERE r.idempotencyKey = :key
+""")
+    int complete(@Param("key") String key,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("responseStatus") Integer responseStatus,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresOn") LocalDateTime expiresOn);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresOn < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
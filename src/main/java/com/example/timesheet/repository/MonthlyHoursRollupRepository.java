@@ -0,0 +1,127 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.keys.MonthlyHoursRollupId;
+import com.example.timesheet.models.MonthlyHoursRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface MonthlyHoursRollupRepository extends JpaRepository<MonthlyHoursRollup, MonthlyHoursRollupId> {
+
+    @Query("""
+    SELECT r.id.projectCode, SUM(r.totalHours)
+    FROM MonthlyHoursRollup r
+    WHERE r.id.projectCode IN :projectCodes
+      AND (:year IS NULL OR r.id.timesheetYear = :year)
+      AND (:month IS NULL OR r.id.timesheetMonth = :month)
+    GROUP BY r.id.projectCode
+""")
+    List<Object[]> findTotalHoursPerProject(@Param("projectCodes") Set<String> projectCodes,
+                                            @Param("year") Integer year,
+                                            @Param("month") Integer month);
+
+    // One row per month across the given projects, keyed as yyyy-MM
+    @Query(value = """
+    SELECT to_char(make_date(r.timesheet_year, r.timesheet_month, 1), 'YYYY-MM') AS month,
+           SUM(r.total_hours) AS hours
+    FROM monthly_hours_rollup r
+    WHERE r.project_code IN (:projectCodes)
+    GROUP BY r.timesheet_year, r.timesheet_month
+    ORDER BY r.timesheet_year, r.timesheet_month
+""", nativeQuery = true)
+    List<Object[]> findMonthlyHoursForProjects(@Param("projectCodes") Set<String> projectCodes);
+
+    // Projects the employees logged time on in a month; non-project entries are stored under ''
+    @Query("""
+    SELECT DISTINCT r.id.projectCode
+    FROM MonthlyHoursRollup r
+    WHERE r.id.employeeCode IN :employeeCodes
+      AND r.id.timesheetYear = :year
+      AND r.id.timesheetMonth = :month
+      AND r.id.projectCode <> ''
+""")
+    List<String> findProjectCodesLoggedBy(Collection<String> employeeCodes, int year, int month);
+
+    // Additive, so concurrent writers to the same key compose instead of overwriting each other
+    @Modifying
+    @Query(value = """
+    INSERT INTO monthly_hours_rollup (project_code, employee_code, timesheet_year, timesheet_month, entry_type,
+                                      total_hours, entry_count)
+    VALUES (:projectCode, :employeeCode, :year, :month, :entryType, :hours, :entries)
+    ON CONFLICT (project_code, employee_code, timesheet_year, timesheet_month, entry_type) DO UPDATE
+    SET total_hours = monthly_hours_rollup.total_hours + EXCLUDED.total_hours,
+        entry_count = monthly_hours_rollup.entry_count + EXCLUDED.entry_count
+""", nativeQuery = true)
+    int addHours(@Param("projectCode") String projectCode,
+                 @Param("employeeCode") String employeeCode,
+                 @Param("year") int year,
+                 @Param("month") int month,
+                 @Param("entryType") String entryType,
+                 @Param("hours") double hours,
+                 @Param("entries") long entries);
+
+    default int addHours(MonthlyHoursRollupId id, double hours, long entries) {
+        return addHours(id.getProjectCode(), id.getEmployeeCode(), id.getTimesheetYear(), id.getTimesheetMonth(),
+                id.getEntryType().name(), hours, entries);
+    }
+
+    // Deltas take this lock shared and rebuilds take it exclusive, both until commit: a rebuild waits for
+    // in-flight deltas and later deltas wait for it, so recomputed totals never drop a concurrent delta
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock_shared(hashtext('monthly_hours_rollup'))) l",
+            nativeQuery = true)
+    long lockForDeltas();
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext('monthly_hours_rollup'))) l",
+            nativeQuery = true)
+    long lockForRebuild();
+
+    // Drops keys in the months whose daily rows are gone; run under lockForRebuild()
+    @Modifying
+    @Query(value = """
+    DELETE FROM monthly_hours_rollup r
+    WHERE (r.timesheet_year, r.timesheet_month) >= (:fromYear, :fromMonth)
+      AND (r.timesheet_year, r.timesheet_month) <= (:toYear, :toMonth)
+      AND NOT EXISTS (
+          SELECT 1 FROM daily_time_sheet d
+          WHERE COALESCE(d.project_code, '') = r.project_code
+            AND d.employee_code = r.employee_code
+            AND d.timesheet_year = r.timesheet_year
+            AND d.timesheet_month = r.timesheet_month
+            AND d.entry_type = r.entry_type)
+""", nativeQuery = true)
+    int deleteStale(@Param("fromYear") int fromYear, @Param("fromMonth") int fromMonth,
+                    @Param("toYear") int toYear, @Param("toMonth") int toMonth);
+
+    // Recomputes every key in the months from the daily rows, touching only keys that drifted; run under lockForRebuild()
+    @Modifying
+    @Query(value = """
+    INSERT INTO monthly_hours_rollup (project_code, employee_code, timesheet_year, timesheet_month, entry_type,
+                                      total_hours, entry_count)
+    SELECT COALESCE(d.project_code, ''), d.employee_code, d.timesheet_year, d.timesheet_month,
+           d.entry_type, SUM(d.hours_spent), COUNT(*)
+    FROM daily_time_sheet d
+    WHERE (d.timesheet_year, d.timesheet_month) >= (:fromYear, :fromMonth)
+      AND (d.timesheet_year, d.timesheet_month) <= (:toYear, :toMonth)
+      AND d.entry_type IS NOT NULL
+    GROUP BY 1, 2, 3, 4, 5
+    ON CONFLICT (project_code, employee_code, timesheet_year, timesheet_month, entry_type) DO UPDATE
+    SET total_hours = EXCLUDED.total_hours,
+        entry_count = EXCLUDED.entry_count
+    WHERE (monthly_hours_rollup.total_hours, monthly_hours_rollup.entry_count)
+          IS DISTINCT FROM (EXCLUDED.total_hours, EXCLUDED.entry_count)
+""", nativeQuery = true)
+    int upsertActual(@Param("fromYear") int fromYear, @Param("fromMonth") int fromMonth,
+                     @Param("toYear") int toYear, @Param("toMonth") int toMonth);
+
+    // Rebuilds the months from, to (inclusive) and returns the rows corrected; run under lockForRebuild()
+    default int rebuild(YearMonth from, YearMonth to) {
+        return deleteStale(from.getYear(), from.getMonthValue(), to.getYear(), to.getMonthValue())
+                + upsertActual(from.getYear(), from.getMonthValue(), to.getYear(), to.getMonthValue());
+    }
+}
@@ -2,19 +2,21 @@ package com.example.timesheet.repository;
 
 
 import com.example.timesheet.keys.ProjectEmployeeId;
-import com.example.timesheet.models.Project;
 import com.example.timesheet.models.ProjectEmployee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface ProjectEmployeeRepository extends JpaRepository<ProjectEmployee, ProjectEmployeeId>, JpaSpecificationExecutor<ProjectEmployee> {
 
+    @EntityGraph(attributePaths = {"project", "project.costCenter"})
     List<ProjectEmployee> findByIdEmployeeCodeIgnoreCaseAndIsActiveTrue(String employeeCode);
 
     List<ProjectEmployee> findByIdProjectCode(String projectCode);
@@ -28,8 +30,6 @@ public interface ProjectEmployeeRepository extends JpaRepository<ProjectEmployee
 """)
     List<Object[]> countEmployeesPerProject(@Param("projectCodes") Set<String> projectCodes);
 
-    Long countByProject(Project project);
-
     List<ProjectEmployee> findByProject_ProjectCodeIgnoreCaseAndIsActiveTrue(String projectCode);
 
     boolean existsByIdAndIsActiveTrue(ProjectEmployeeId id);
@@ -37,5 +37,14 @@ public interface ProjectEmployeeRepository extends JpaRepository<ProjectEmployee
     Optional<ProjectEmployee> findByIdAndIsActiveTrue(ProjectEmployeeId id); // FIXED HERE
 
     List<ProjectEmployee> findByProject_ProjectCodeAndIsActiveTrue(String projectCode);
+
+    @Query("""
+    SELECT pe
+    FROM ProjectEmployee pe
+    JOIN FETCH pe.project
+    WHERE pe.id.employeeCode IN :employeeCodes
+      AND pe.isActive = true
+""")
+    List<ProjectEmployee> findActiveWithProjectByEmployeeCodes(@Param("employeeCodes") Collection<String> employeeCodes);
 }
 
@@ -1,9 +1,19 @@
 package com.example.timesheet.repository;
 
+import com.example.timesheet.common.constants.CacheNames;
+import com.example.timesheet.dto.projection.ProjectReference;
 import com.example.timesheet.models.Project;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import java.util.List;
@@ -12,13 +22,52 @@ public interface ProjectRepository extends JpaRepository<Project, String>, JpaSp
 
     List<Project> findByProjectManagerCodeIgnoreCaseAndIsActiveTrue(String projectManagerCode);
 
+    // List screens read the client name and cost center code of every project; fetch them in the same query
+    @EntityGraph(attributePaths = {"clients", "costCenter"})
     List<Project> findByCostCenter_CostCenterCodeIgnoreCaseAndIsActiveTrue(String costCenterCode);
 
-    List<Project> findAllByCostCenter_CostCenterManagerCode(String managerCode);
+    @Override
+    @EntityGraph(attributePaths = {"clients", "costCenter"})
+    Page<Project> findAll(Specification<Project> spec, Pageable pageable);
+
     List<Project> findByIsActiveTrue();
-    List<Project> findByProjectManagerCodeAndIsActiveTrue(String managerCode);
+
+    // Dashboards read scalar columns only, so the eager client association cannot add a query per project
+    @Query("""
+    SELECT new com.example.timesheet.dto.projection.ProjectReference(p.projectCode, p.title, p.projectManagerCode)
+    FROM Project p
+    WHERE p.projectManagerCode = :managerCode
+      AND p.isActive = true
+    ORDER BY p.projectCode
+""")
+    List<ProjectReference> findActiveReferencesByProjectManagerCode(@Param("managerCode") String managerCode);
+
+    @Query("""
+    SELECT p.projectCode, p.isActive
+    FROM Project p
+    WHERE p.costCenter.costCenterManagerCode = :managerCode
+""")
+    List<Object[]> findCodesAndActiveFlagByCostCenterManager(@Param("managerCode") String managerCode);
 
 
+    // Project manager and cost center manager of each project, to find the dashboards a change touches
+    @Query("""
+    SELECT p.projectManagerCode, cc.costCenterManagerCode
+    FROM Project p LEFT JOIN p.costCenter cc
+    WHERE p.projectCode IN :projectCodes
+""")
+    List<Object[]> findManagerCodesByProjectCodeIn(Collection<String> projectCodes);
+
+    @EntityGraph(attributePaths = {"clients", "costCenter"})
     Optional<Project> findByProjectCodeAndIsActiveTrue(String projectCode);
+
+    // Cached; evicted by ProjectManagementServiceImpl when a project is created, updated or deleted
+    @Cacheable(cacheNames = CacheNames.PROJECT_REFERENCES, key = "#p0")
+    @Query("""
+    SELECT new com.example.timesheet.dto.projection.ProjectReference(p.projectCode, p.title, p.projectManagerCode)
+    FROM Project p
+    WHERE p.projectCode = :projectCode
+""")
+    Optional<ProjectReference> findReferenceByProjectCode(@Param("projectCode") String projectCode);
 }
 
@@ -1,27 +1,136 @@
 package com.example.timesheet.repository;
 
+import com.example.timesheet.dto.projection.DailyEntryRowView;
+import com.example.timesheet.dto.projection.ResourceVersionView;
+import com.example.timesheet.dto.projection.TimesheetSummaryView;
+import com.example.timesheet.enums.TimeSheetStatus;
 import com.example.timesheet.models.TimesheetSummary;
 import com.example.timesheet.keys.TimesheetSummaryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TimesheetSummaryRepository extends JpaRepository<TimesheetSummary, TimesheetSummaryId>, JpaSpecificationExecutor<TimesheetSummary> {
 
+    // Named parameters shared by several queries below
+    String EMPLOYEE_CODE = "employeeCode";
+    String WEEK_START = "weekStart";
+    String YEAR = "year";
+    String MONTH = "month";
+
     List<TimesheetSummary> findByIdEmployeeCode(String employeeCode);
 
-    List<TimesheetSummary> findByIdEmployeeCodeAndIdTimesheetYearAndIdTimesheetMonth(
-            String employeeCode, Integer year, Integer month);
+    // Dynamic projections: pass TimesheetSummaryView.class for read-only screens
+    <T> List<T> findByIdEmployeeCodeAndIdTimesheetYearAndIdTimesheetMonth(
+            String employeeCode, Integer year, Integer month, Class<T> type);
     Optional<TimesheetSummary> findByIdEmployeeCodeAndIdWeekStart(String employeeCode, Date weekStart);
+
+    @Query("""
+    SELECT new com.example.timesheet.dto.projection.DailyEntryRowView(
+        ts.status, ts.managerComment,
+        d.employeeCode, d.timesheetYear, d.timesheetMonth, d.workDate,
+        d.projectCode, d.entryType, d.hoursSpent, d.description, d.modifiedByManager)
+    FROM TimesheetSummary ts
+    LEFT JOIN DailyTimeSheet d
+        ON d.employeeCode = ts.id.employeeCode
+       AND d.workDate BETWEEN ts.id.weekStart AND :weekEnd
+    WHERE ts.id.employeeCode = :employeeCode
+      AND ts.id.weekStart = :weekStart
+    ORDER BY d.workDate, d.id
+""")
+    List<DailyEntryRowView> findWeekEntryRows(@Param(EMPLOYEE_CODE) String employeeCode,
+                                              @Param(WEEK_START) Date weekStart,
+                                              @Param("weekEnd") Date weekEnd);
+
+    // Versions for conditional GETs: aggregates only, so a poll that ends in 304 never loads the rows themselves
+    @Query(value = """
+    WITH daily AS (
+        SELECT MAX(d.updated_on) AS modified, COUNT(*) AS row_count
+        FROM daily_time_sheet d
+        WHERE d.employee_code = :employeeCode
+          AND d.work_date BETWEEN :weekStart AND :weekEnd
+    ),
+    summary AS (
+        SELECT MAX(ts.updated_on) AS modified, COUNT(*) AS row_count, COALESCE(SUM(ts.version), 0) AS versions
+        FROM timesheet_summary ts
+        WHERE ts.employee_code = :employeeCode
+          AND ts.week_start = :weekStart
+    )
+    SELECT GREATEST(daily.modified, summary.modified) AS lastModified,
+           CAST(daily.row_count + summary.row_count AS bigint) AS rowCount,
+           CAST(summary.versions AS bigint) AS versionSum
+    FROM daily, summary
+    """, nativeQuery = true)
+    ResourceVersionView findWeekVersion(@Param(EMPLOYEE_CODE) String employeeCode,
+                                        @Param(WEEK_START) Date weekStart,
+                                        @Param("weekEnd") Date weekEnd);
+
+    @Query(value = """
+    SELECT MAX(ts.updated_on) AS lastModified,
+           COUNT(*) AS rowCount,
+           CAST(COALESCE(SUM(ts.version), 0) AS bigint) AS versionSum
+    FROM timesheet_summary ts
+    WHERE ts.employee_code = :employeeCode
+      AND ts.timesheet_year = :year
+      AND ts.timesheet_month = :month
+    """, nativeQuery = true)
+    ResourceVersionView findMonthVersion(@Param(EMPLOYEE_CODE) String employeeCode,
+                                         @Param(YEAR) Integer year,
+                                         @Param(MONTH) Integer month);
+
+    // The team dashboard also shows names from the directory, so its rows are part of the version
+    @Query(value = """
+    WITH team AS (
+        SELECT MAX(e.synced_on) AS modified, COUNT(*) AS row_count
+        FROM employee_directory e
+        WHERE e.manager_code = :managerCode
+    ),
+    summary AS (
+        SELECT MAX(ts.updated_on) AS modified, COUNT(*) AS row_count, COALESCE(SUM(ts.version), 0) AS versions
+        FROM timesheet_summary ts
+        WHERE ts.employee_code IN (SELECT e.employee_code FROM employee_directory e WHERE e.manager_code = :managerCode)
+          AND ts.timesheet_year = :year
+          AND ts.timesheet_month = :month
+    )
+    SELECT GREATEST(team.modified, summary.modified) AS lastModified,
+           CAST(team.row_count + summary.row_count AS bigint) AS rowCount,
+           CAST(summary.versions AS bigint) AS versionSum
+    FROM team, summary
+    """, nativeQuery = true)
+    ResourceVersionView findTeamMonthVersion(@Param("managerCode") String managerCode,
+                                             @Param(YEAR) Integer year,
+                                             @Param(MONTH) Integer month);
+
     List<TimesheetSummary> findByIdEmployeeCodeInAndIdWeekStartAndIdTimesheetYearAndIdTimesheetMonth(
             List<String> employeeCodes, Date weekStart, Integer timesheetYear, Integer timesheetMonth);
-    List<TimesheetSummary> findByIdEmployeeCodeInAndIdTimesheetYearAndIdTimesheetMonth(Collection<String> employeeCodes, Integer year, Integer month);
+    <T> List<T> findByIdEmployeeCodeInAndIdTimesheetYearAndIdTimesheetMonth(
+            Collection<String> employeeCodes, Integer year, Integer month, Class<T> type);
+    // Export cursor: rows arrive from the server in fetch-size chunks and must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT ts.id AS id, ts.totalHours AS totalHours, ts.status AS status, ts.submittedDate AS submittedDate,
+           ts.approvedBy AS approvedBy, ts.managerComment AS managerComment
+    FROM TimesheetSummary ts
+    WHERE ts.id.timesheetYear = :year
+      AND ts.id.timesheetMonth = :month
+      AND ts.id.employeeCode IN (SELECT e.employeeCode FROM EmployeeDirectory e)
+    ORDER BY ts.id.employeeCode, ts.id.weekStart
+""")
+    Stream<TimesheetSummaryView> streamDirectoryMonth(Integer year, Integer month);
+    <T> List<T> findByIdEmployeeCodeInAndIdWeekStartIn(Collection<String> employeeCodes, Collection<Date> weekStarts,
+                                                       Class<T> type);
 
     @Query(value = """
     SELECT dts.project_code, ts.status, COUNT(*)
@@ -43,6 +152,185 @@ public interface TimesheetSummaryRepository extends JpaRepository<TimesheetSumma
             "GROUP BY ts.status")
     List<Object[]> countTimesheetStatusByManager(String managerCode, Integer year, Integer month);
 
+    // UPDATE ... RETURNING yields rows, so this runs as a query rather than a @Modifying update
+    @Query(value = """
+    UPDATE timesheet_summary
+    SET status = 'SUBMITTED',
+        submitted_date = CURRENT_TIMESTAMP,
+        version = version + 1,
+        updated_on = CURRENT_TIMESTAMP
+    WHERE employee_code = :employeeCode
+      AND timesheet_year = :year
+      AND timesheet_month = :month
+      AND status = 'DRAFT'
+    RETURNING week_start
+    """, nativeQuery = true)
+    List<Date> submitDraftWeeks(@Param(EMPLOYEE_CODE) String employeeCode,
+                                @Param(YEAR) Integer year,
+                                @Param(MONTH) Integer month);
+
+    // Only an editable week (draft or sent back for correction) takes the change; 0 rows means it was submitted or approved
+    @Modifying
+    @Query(value = """
+    INSERT INTO timesheet_summary (employee_code, timesheet_year, timesheet_month, week_start, total_hours, status, updated_on)
+    VALUES (:employeeCode, :year, :month, :weekStart, :delta, 'DRAFT', CURRENT_TIMESTAMP)
+    ON CONFLICT (employee_code, timesheet_year, timesheet_month, week_start) DO UPDATE
+    SET total_hours = COALESCE(timesheet_summary.total_hours, 0) + EXCLUDED.total_hours,
+        status = 'DRAFT',
+        version = timesheet_summary.version + 1,
+        updated_on = EXCLUDED.updated_on
+    WHERE timesheet_summary.status IN ('DRAFT', 'CORRECTION_REQUIRED')
+    """, nativeQuery = true)
+    int addHoursAndResetToDraft(@Param(EMPLOYEE_CODE) String employeeCode,
+                                @Param(YEAR) Integer year,
+                                @Param(MONTH) Integer month,
+                                @Param(WEEK_START) Date weekStart,
+                                @Param("delta") double delta);
+
+    @Modifying
+    @Query("""
+    UPDATE TimesheetSummary ts
+    SET ts.status = com.example.timesheet.enums.TimeSheetStatus.APPROVED,
+        ts.approvedBy = :managerCode,
+        ts.managerComment = :comment,
+        ts.version = ts.version + 1,
+        ts.updatedOn = LOCAL_DATETIME
+    WHERE ts.id.employeeCode IN :employeeCodes
+      AND ts.id.weekStart = :weekStart
+      AND ts.id.timesheetYear = :year
+      AND ts.id.timesheetMonth = :month
+      AND ts.status = com.example.timesheet.enums.TimeSheetStatus.SUBMITTED
+""")
+    int approveSubmittedForWeek(@Param("employeeCodes") Collection<String> employeeCodes,
+                                @Param(WEEK_START) Date weekStart,
+                                @Param(YEAR) Integer year,
+                                @Param(MONTH) Integer month,
+                                @Param("managerCode") String managerCode,
+                                @Param("comment") String comment);
+
+    // Guarded transitions: they only apply while the summary is still in the expected status
+    @Modifying
+    @Query("""
+    UPDATE TimesheetSummary ts
+    SET ts.status = com.example.timesheet.enums.TimeSheetStatus.SUBMITTED,
+        ts.submittedDate = :submittedDate,
+        ts.version = ts.version + 1,
+        ts.updatedOn = LOCAL_DATETIME
+    WHERE ts.id = :id
+      AND ts.status = com.example.timesheet.enums.TimeSheetStatus.DRAFT
+""")
+    int submitIfDraft(@Param("id") TimesheetSummaryId id, @Param("submittedDate") Timestamp submittedDate);
+
+    @Modifying
+    @Query("""
+    UPDATE TimesheetSummary ts
+    SET ts.status = :status,
+        ts.approvedBy = :managerCode,
+        ts.managerComment = :comment,
+        ts.totalHours = COALESCE(ts.totalHours, 0) + :delta,
+        ts.version = ts.version + 1,
+        ts.updatedOn = LOCAL_DATETIME
+    WHERE ts.id = :id
+      AND ts.status = com.example.timesheet.enums.TimeSheetStatus.SUBMITTED
+""")
+    int decideIfSubmitted(@Param("id") TimesheetSummaryId id,
+                          @Param("status") TimeSheetStatus status,
+                          @Param("managerCode") String managerCode,
+                          @Param("comment") String comment,
+                          @Param("delta") double delta);
+
+    // Adds the manager's row edits to a week that was already decided within the same transaction
+    @Modifying
+    @Query("""
+    UPDATE TimesheetSummary ts
+    SET ts.totalHours = COALESCE(ts.totalHours, 0) + :delta,
+        ts.version = ts.version + 1,
+        ts.updatedOn = LOCAL_DATETIME
+    WHERE ts.id = :id
+""")
+    int addTotalHours(@Param("id") TimesheetSummaryId id, @Param("delta") double delta);
+
+    // Weeks whose total no longer matches their daily rows, locked so the reconcile below corrects exactly these
+    @Query(value = """
+    SELECT ts.*
+    FROM timesheet_summary ts
+    WHERE ts.week_start >= :since
+      AND ts.total_hours IS DISTINCT FROM (
+          SELECT COALESCE(SUM(d.hours_spent), 0)
+          FROM daily_time_sheet d
+          WHERE d.employee_code = ts.employee_code
+            AND d.work_date BETWEEN ts.week_start AND ts.week_start + 6)
+    FOR UPDATE OF ts
+    """, nativeQuery = true)
+    List<TimesheetSummary> findDriftedSince(@Param("since") Date since);
+
+    @Modifying
+    @Query(value = """
+    WITH actual AS (
+        SELECT ts.employee_code, ts.timesheet_year, ts.timesheet_month, ts.week_start,
+               COALESCE(SUM(d.hours_spent), 0) AS total
+        FROM timesheet_summary ts
+        LEFT JOIN daily_time_sheet d
+          ON d.employee_code = ts.employee_code
+         AND d.work_date BETWEEN ts.week_start AND ts.week_start + 6
+        WHERE ts.week_start >= :since
+        GROUP BY ts.employee_code, ts.timesheet_year, ts.timesheet_month, ts.week_start
+    )
+    UPDATE timesheet_summary ts
+    SET total_hours = a.total,
+        version = ts.version + 1,
+        updated_on = CURRENT_TIMESTAMP
+    FROM actual a
+    WHERE ts.employee_code = a.employee_code
+      AND ts.timesheet_year = a.timesheet_year
+      AND ts.timesheet_month = a.timesheet_month
+      AND ts.week_start = a.week_start
+      AND ts.total_hours IS DISTINCT FROM a.total
+    """, nativeQuery = true)
+    int reconcileTotalHoursSince(@Param("since") Date since);
+
+    // Weeks of the employee-months whose monthly_hours_rollup rows differ from their daily rows, so a rollup
+    // rebuild knows which dashboards it changes; run under MonthlyHoursRollupRepository.lockForRebuild()
+    @Query(value = """
+    WITH actual AS (
+        SELECT COALESCE(d.project_code, '') AS project_code, d.employee_code, d.timesheet_year, d.timesheet_month,
+               d.entry_type, SUM(d.hours_spent) AS total_hours, COUNT(*) AS entry_count
+        FROM daily_time_sheet d
+        WHERE (d.timesheet_year, d.timesheet_month) >= (:fromYear, :fromMonth)
+          AND (d.timesheet_year, d.timesheet_month) <= (:toYear, :toMonth)
+          AND d.entry_type IS NOT NULL
+        GROUP BY 1, 2, 3, 4, 5
+    ),
+    stored AS (
+        SELECT r.project_code, r.employee_code, r.timesheet_year, r.timesheet_month, r.entry_type,
+               r.total_hours, r.entry_count
+        FROM monthly_hours_rollup r
+        WHERE (r.timesheet_year, r.timesheet_month) >= (:fromYear, :fromMonth)
+          AND (r.timesheet_year, r.timesheet_month) <= (:toYear, :toMonth)
+    ),
+    drifted AS (
+        SELECT DISTINCT COALESCE(a.employee_code, s.employee_code) AS employee_code,
+               COALESCE(a.timesheet_year, s.timesheet_year) AS timesheet_year,
+               COALESCE(a.timesheet_month, s.timesheet_month) AS timesheet_month
+        FROM actual a
+        FULL JOIN stored s
+          ON s.project_code = a.project_code
+         AND s.employee_code = a.employee_code
+         AND s.timesheet_year = a.timesheet_year
+         AND s.timesheet_month = a.timesheet_month
+         AND s.entry_type = a.entry_type
+        WHERE (a.total_hours, a.entry_count) IS DISTINCT FROM (s.total_hours, s.entry_count)
+    )
+    SELECT ts.*
+    FROM timesheet_summary ts
+    JOIN drifted dr
+      ON dr.employee_code = ts.employee_code
+     AND dr.timesheet_year = ts.timesheet_year
+     AND dr.timesheet_month = ts.timesheet_month
+    """, nativeQuery = true)
+    List<TimesheetSummary> findWeeksWithRollupDrift(@Param("fromYear") int fromYear, @Param("fromMonth") int fromMonth,
+                                                    @Param("toYear") int toYear, @Param("toMonth") int toMonth);
+
 
 
 }
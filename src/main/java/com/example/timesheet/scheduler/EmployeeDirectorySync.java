@@ -0,0 +1,28 @@
+package com.example.timesheet.scheduler;
+
+import com.example.timesheet.service.EmployeeDirectoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeDirectorySync {
+
+    private final EmployeeDirectoryService employeeDirectoryService;
+
+    // Also runs on startup so a fresh database has the directory before the first listing; later runs only write changes
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${timesheet.directory.sync-cron:0 */5 * * * *}")
+    public void syncDirectory() {
+        try {
+            employeeDirectoryService.syncFromIdentityService();
+        } catch (Exception e) {
+            log.error("Employee directory sync failed; listings use the last synced copy", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.timesheet.scheduler;
+
+import com.example.timesheet.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyRecordCleanup {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(cron = "${timesheet.idempotency.cleanup-cron:0 0 * * * *}")
+    public void purgeExpiredRecords() {
+        int purged = idempotencyService.purgeExpired();
+        log.info("Purged {} expired idempotency records", purged);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.timesheet.scheduler;
+
+import com.example.timesheet.events.TimesheetChangedEvent;
+import com.example.timesheet.keys.TimesheetSummaryId;
+import com.example.timesheet.models.DailyTimeSheet;
+import com.example.timesheet.models.TimesheetSummary;
+import com.example.timesheet.repository.DailyTimeSheetRepository;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
+import com.example.timesheet.repository.TimesheetSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyHoursRollupRebuilder {
+
+    // Upper bound for "every month from here on"
+    private static final YearMonth OPEN_END = YearMonth.of(9999, 12);
+
+    private final MonthlyHoursRollupRepository monthlyHoursRollupRepository;
+    private final DailyTimeSheetRepository dailyTimeSheetRepository;
+    private final TimesheetSummaryRepository timesheetSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${timesheet.rollup.rebuild.lookback-months:3}")
+    private int lookbackMonths;
+
+    // Backfill: a new rollup table is built from the daily rows once, before dashboards start reading it
+    // (so there is nothing cached to evict).
+    // One transaction per month keeps each rebuild lock short; instances starting together queue on the lock
+    // and the later one finds nothing left to correct.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (monthlyHoursRollupRepository.count() > 0) {
+            return;
+        }
+        Optional<YearMonth> first = dailyTimeSheetRepository.findFirstByOrderByTimesheetYearAscTimesheetMonthAsc()
+                .map(MonthlyHoursRollupRebuilder::monthOf);
+        Optional<YearMonth> last = dailyTimeSheetRepository.findFirstByOrderByTimesheetYearDescTimesheetMonthDesc()
+                .map(MonthlyHoursRollupRebuilder::monthOf);
+        if (first.isEmpty() || last.isEmpty()) {
+            return;
+        }
+
+        int written = 0;
+        for (YearMonth month = first.get(); !month.isAfter(last.get()); month = month.plusMonths(1)) {
+            YearMonth current = month;
+            Integer rows = transactionTemplate.execute(status -> {
+                monthlyHoursRollupRepository.lockForRebuild();
+                return monthlyHoursRollupRepository.rebuild(current, current);
+            });
+            written += rows == null ? 0 : rows;
+        }
+        log.info("Backfilled {} monthly hours rollup rows from {} to {}", written, first.get(), last.get());
+    }
+
+    // Rollup rows are maintained by deltas; this recomputes recent months from the daily rows to repair drift
+    // and evicts the dashboards of the corrected months once the rebuild commits
+    @Scheduled(cron = "${timesheet.rollup.rebuild.cron:0 45 2 * * *}")
+    @Transactional
+    public void rebuildRecentMonths() {
+        YearMonth from = YearMonth.now().minusMonths(lookbackMonths);
+        monthlyHoursRollupRepository.lockForRebuild();
+        List<TimesheetSummaryId> weeks = timesheetSummaryRepository.findWeeksWithRollupDrift(
+                        from.getYear(), from.getMonthValue(), OPEN_END.getYear(), OPEN_END.getMonthValue())
+                .stream()
+                .map(TimesheetSummary::getId)
+                .toList();
+        int corrected = monthlyHoursRollupRepository.rebuild(from, OPEN_END);
+        if (!weeks.isEmpty()) {
+            eventPublisher.publishEvent(TimesheetChangedEvent.of(weeks));
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} monthly hours rollup rows since {}", corrected, from);
+        } else {
+            log.info("Monthly hours rollup in sync since {}", from);
+        }
+    }
+
+    private static YearMonth monthOf(DailyTimeSheet sheet) {
+        return YearMonth.of(sheet.getTimesheetYear(), sheet.getTimesheetMonth());
+    }
+}
@@ -1,14 +1,13 @@
 package com.example.timesheet.scheduler;
 
 import com.example.timesheet.common.email.service.EmailService;
-import com.example.timesheet.client.IdentityServiceClient;
+import com.example.timesheet.dto.response.UserIdentityDto;
+import com.example.timesheet.service.EmployeeDirectoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,7 +15,7 @@ import java.util.Map;
 @Slf4j
 public class TimesheetReminder {
 
-    private final IdentityServiceClient identityServiceClient;
+    private final EmployeeDirectoryService employeeDirectoryService;
     private final EmailService emailService;
 
     // Runs every Thursday at 10:15 AM
@@ -25,30 +24,22 @@ public class TimesheetReminder {
         log.info("Running weekly timesheet reminder job...");
 
         try {
-            ResponseEntity<List<Map<String, String>>> response = identityServiceClient.getAllUsersList();
+            for (UserIdentityDto user : employeeDirectoryService.getAllEmployees()) {
+                String email = user.getEmail();
+                String firstName = user.getFirstName();
+                String employeeCode = user.getEmployeeCode();
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Map<String, String>> users = response.getBody();
+                if (email != null && !email.isBlank()) {
+                    String name = firstName != null && !firstName.isBlank() ? firstName : employeeCode;
 
-                for (Map<String, String> user : users) {
-                    String email = user.get("email");
-                    String firstName = user.get("firstName");
-                    String employeeCode = user.get("employeeCode");
+                    Map<String, String> variables = Map.of("name", name);
 
-                    if (email != null && !email.isBlank()) {
-                        String name = firstName != null && !firstName.isBlank() ? firstName : employeeCode;
+                    String subject = "Weekly Timesheet Reminder";
+                    String body = emailService.loadTemplate("WeeklyReminderTemplate.txt", variables);
 
-                        Map<String, String> variables = Map.of("name", name);
-
-                        String subject = "Weekly Timesheet Reminder";
-                        String body = emailService.loadTemplate("WeeklyReminderTemplate.txt", variables);
-
-                        emailService.sendEmail(email, subject, body);
-                        log.info("Reminder email sent to {}", email);
-                    }
+                    emailService.sendEmail(email, subject, body);
+                    log.info("Reminder email sent to {}", email);
                 }
-            } else {
-                log.warn("Failed to fetch users for reminder: {}", response.getStatusCode());
             }
 
         } catch (Exception e) {
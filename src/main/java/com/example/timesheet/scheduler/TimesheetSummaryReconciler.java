@@ -0,0 +1,47 @@
+package com.example.timesheet.scheduler;
+
+import com.example.timesheet.events.TimesheetChangedEvent;
+import com.example.timesheet.keys.TimesheetSummaryId;
+import com.example.timesheet.models.TimesheetSummary;
+import com.example.timesheet.repository.TimesheetSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimesheetSummaryReconciler {
+
+    private final TimesheetSummaryRepository timesheetSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${timesheet.summary.reconcile.lookback-days:62}")
+    private int lookbackDays;
+
+    // Summary totals are maintained by deltas; this recomputes recent weeks from the daily rows to repair drift
+    // and evicts the dashboards of the corrected weeks once the fix commits
+    @Scheduled(cron = "${timesheet.summary.reconcile.cron:0 30 2 * * *}")
+    @Transactional
+    public void reconcileTotalHours() {
+        Date since = Date.valueOf(LocalDate.now().minusDays(lookbackDays));
+        List<TimesheetSummaryId> drifted = timesheetSummaryRepository.findDriftedSince(since).stream()
+                .map(TimesheetSummary::getId)
+                .toList();
+        if (drifted.isEmpty()) {
+            log.info("Timesheet summary totals in sync since {}", since);
+            return;
+        }
+        int corrected = timesheetSummaryRepository.reconcileTotalHoursSince(since);
+        eventPublisher.publishEvent(TimesheetChangedEvent.of(drifted));
+        log.warn("Corrected total hours on {} timesheet summaries since {}", corrected, since);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.timesheet.service;
 
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.dto.request.ClientDto;
 import com.example.timesheet.dto.response.ClientResponseDto;
@@ -17,6 +18,12 @@ public interface ClientService {
             Integer offset,
             Integer limit,
             List<FilterRequest> filters,
+            List<SortRequest> sorts,
+            boolean withTotal);
+    CursorPagedResponse<ClientResponseDto> getClientsAfter(
+            String after,
+            Integer limit,
+            List<FilterRequest> filters,
             List<SortRequest> sorts);
     Optional<ClientResponseDto> getClientById(Long id);
     String updateClient(Long id, ClientDto dto) throws TimeSheetException;
@@ -2,6 +2,7 @@ package com.example.timesheet.service;
 
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.dto.request.CostCenterDto;
 import com.example.timesheet.dto.response.CostCenterResponseDto;
@@ -16,6 +17,12 @@ public interface CostCenterService {
             Integer offset,
             Integer limit,
             List<FilterRequest> filters,
+            List<SortRequest> sorts,
+            boolean withTotal);
+    CursorPagedResponse<CostCenterResponseDto> getCostCentersAfter(
+            String after,
+            Integer limit,
+            List<FilterRequest> filters,
             List<SortRequest> sorts);
 
     CostCenterResponseDto getCostCenterByCode(String costCenterCode) throws TimeSheetException;
@@ -1,5 +1,6 @@
 package com.example.timesheet.service;
 
+import com.example.timesheet.dto.projection.ResourceVersionView;
 
 import com.example.timesheet.dto.response.ccmanagerdashboard.CCManagerDashboardDto;
 import com.example.timesheet.dto.response.employeedashboard.EmployeeDashboardDto;
@@ -7,9 +8,13 @@ import com.example.timesheet.dto.response.managerdashboard.ManagerDashboardDto;
 import com.example.timesheet.dto.response.projectmanagerdashboard.ProjectManagerDashboardDTO;
 
 public interface DashboardService {
-    ManagerDashboardDto getEmployeesTimesheetUnderManager(String managerCode, int year, int month);
+    // version is the ETag of getManagerDashboardVersion / getEmployeeDashboardVersion read for the same request;
+    // it only keys the cached dashboard
+    ManagerDashboardDto getEmployeesTimesheetUnderManager(String managerCode, int year, int month, String version);
 
-    EmployeeDashboardDto getEmployeeDashboard(String employeeCode, int year, int month);
+    EmployeeDashboardDto getEmployeeDashboard(String employeeCode, int year, int month, String version);
+    ResourceVersionView getEmployeeDashboardVersion(String employeeCode, int year, int month);
+    ResourceVersionView getManagerDashboardVersion(String managerCode, int year, int month);
     ProjectManagerDashboardDTO getPmDashboard(String managerCode);
 
     CCManagerDashboardDto getCCManagerDashboard(String managerCode, Integer year, Integer month);
@@ -0,0 +1,13 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.dto.response.UserIdentityDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeDirectoryService {
+    int syncFromIdentityService();
+    Optional<UserIdentityDto> findEmployee(String employeeCode);
+    List<UserIdentityDto> getEmployeesUnderManager(String managerCode);
+    List<UserIdentityDto> getAllEmployees();
+}
@@ -0,0 +1,12 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.models.IdempotencyRecord;
+
+public interface IdempotencyService {
+    boolean claim(String key, String endpoint, String requestHash);
+    IdempotencyRecord getCompleted(String key, String endpoint, String requestHash) throws TimeSheetException;
+    void complete(String key, int responseStatus, String responseBody);
+    void release(String key);
+    int purgeExpired();
+}
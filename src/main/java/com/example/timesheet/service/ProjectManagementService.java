@@ -3,6 +3,7 @@ package com.example.timesheet.service;
 
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.dto.request.AssignEmployeesDto;
 import com.example.timesheet.dto.request.ProjectRolesRequestDto;
@@ -26,6 +27,13 @@ public interface ProjectManagementService {
             Integer offset,
             Integer limit,
             List<FilterRequest> filters,
+            List<SortRequest> sorts,
+            boolean withTotal);
+
+    CursorPagedResponse<ProjectResponseDto> getProjectsAfter(
+            String after,
+            Integer limit,
+            List<FilterRequest> filters,
             List<SortRequest> sorts);
 
     ProjectResponseDto getProjectByCode(String code) throws TimeSheetException;
@@ -1,17 +1,20 @@
 package com.example.timesheet.service;
 
 
+import com.example.timesheet.dto.projection.DailyEntryExportView;
 import com.example.timesheet.models.DailyTimeSheet;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface TimesheetReportService {
     ResponseEntity<String> generateReport(Integer year, Integer month, String projectCode, LocalDate startDate, LocalDate endDate);
     ResponseEntity<String> generateReport(int year, int month, String projectCode);
     Map<String, Map<String, List<DailyTimeSheet>>> getMonthlyTimesheetData(int year, int month, String projectCode);
+    void streamMonthlyTimesheetData(int year, int month, String projectCode, Consumer<DailyEntryExportView> sink);
 
 
 }
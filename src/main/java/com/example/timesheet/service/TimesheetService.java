@@ -1,12 +1,16 @@
 package com.example.timesheet.service;
 
 import com.example.timesheet.dto.paginationdto.FilterRequest;
+import com.example.timesheet.dto.projection.ResourceVersionView;
 import com.example.timesheet.dto.paginationdto.SortRequest;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.dto.request.DailyTimesheetDto;
 import com.example.timesheet.dto.request.ManagerApprovalRequestDto;
+import com.example.timesheet.dto.request.MonthlyTimesheetSubmitDto;
 import com.example.timesheet.dto.request.TimesheetSummaryDto;
 import com.example.timesheet.dto.response.DailyTimesheetResponseWithStatus;
+import com.example.timesheet.dto.response.ManagerApprovalResultDto;
+import com.example.timesheet.dto.response.MonthlySubmissionResponseDto;
 import com.example.timesheet.dto.response.TimesheetMatrixRowResponseDto;
 
 import com.example.timesheet.enums.TimeSheetStatus;
@@ -14,22 +18,30 @@ import com.example.timesheet.exceptions.TimeSheetException;
 
 import java.sql.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TimesheetService {
     String saveDailyEntry(DailyTimesheetDto dtos) throws TimeSheetException;
+    int saveDailyEntries(List<DailyTimesheetDto> batch) throws TimeSheetException;
+    void validateDailyEntry(DailyTimesheetDto dtos) throws TimeSheetException;
     String submitTimesheetSummary(TimesheetSummaryDto dto) throws TimeSheetException;
+    MonthlySubmissionResponseDto submitMonth(MonthlyTimesheetSubmitDto dto);
     String approveOrRejectWeekly(ManagerApprovalRequestDto dto) throws TimeSheetException;
+    List<ManagerApprovalResultDto> approveOrRejectWeeklyBatch(List<ManagerApprovalRequestDto> requests);
     PagedResponse<ManagerApprovalRequestDto> getEmployeesTimesheetUnderManager(
             String managerCode, int year, int month, int offset, int limit,
-            List<FilterRequest> filters, List<SortRequest> sorts);
+            List<FilterRequest> filters, List<SortRequest> sorts, boolean withTotal);
 
     PagedResponse<ManagerApprovalRequestDto> getEmployeesTimesheet(
             int year, int month, int offset, int limit,
-            List<FilterRequest> filters, List<SortRequest> sorts);
+            List<FilterRequest> filters, List<SortRequest> sorts, boolean withTotal);
+
+    void streamEmployeesTimesheet(int year, int month, Consumer<ManagerApprovalRequestDto> sink);
 
     DailyTimesheetResponseWithStatus getDailyEntries(String employeeCode, Date weekStart) throws TimeSheetException;
-    void saveTimesheetSummary(TimesheetSummaryDto dto);
-    String approveAllUnderManagerForWeek(ManagerApprovalRequestDto approvalRequest) throws TimeSheetException;
+    ResourceVersionView getWeekVersion(String employeeCode, Date weekStart);
+    void saveTimesheetSummary(TimesheetSummaryDto dto, double hoursDelta);
+    int approveAllUnderManagerForWeek(ManagerApprovalRequestDto approvalRequest) throws TimeSheetException;
     List<TimesheetMatrixRowResponseDto> getEmployeeTimesheet(String employeeCode, Integer year, Integer month);
     TimeSheetStatus getWeeklyStatus(String employeeCode, Date weekStart);
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.example.timesheet.service.serviceimpl;
 
 
+import com.example.timesheet.common.constants.CacheNames;
 import com.example.timesheet.common.constants.ErrorCode;
 import com.example.timesheet.common.constants.ErrorMessage;
 import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.utils.CursorUtil;
 import com.example.timesheet.utils.FilterSpecificationBuilder;
+import com.example.timesheet.utils.SliceUtil;
 import com.example.timesheet.utils.SortUtil;
 import com.example.timesheet.repository.ClientsRepository;
 import com.example.timesheet.dto.request.ClientDto;
@@ -16,11 +20,16 @@ import com.example.timesheet.dto.response.ClientResponseDto;
 import com.example.timesheet.models.Clients;
 import com.example.timesheet.service.ClientService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -43,11 +52,13 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<ClientResponseDto> getAllClients(
             Integer offset,
             Integer limit,
             List<FilterRequest> filters,
-            List<SortRequest> sorts) {
+            List<SortRequest> sorts,
+            boolean withTotal) {
 
         // Apply defaults if null
         int safeOffset = offset == null ? 0 : offset;
@@ -65,7 +76,9 @@ public class ClientServiceImpl implements ClientService {
 
         Specification<Clients> finalSpec = Specification.where(isActiveSpec).and(spec);
 
-        Page<Clients> clientPage = clientsRepository.findAll(finalSpec, pageable);
+        Slice<Clients> clientPage = withTotal
+                ? clientsRepository.findAll(finalSpec, pageable)
+                : SliceUtil.slice(clientsRepository, finalSpec, pageable);
 
         if (clientPage.isEmpty()) {
             throw new TimeSheetException(
@@ -84,17 +97,59 @@ public class ClientServiceImpl implements ClientService {
                         client.isActive()
                 )).toList();
 
-        return new PagedResponse<>(
-                content,
-                clientPage.getNumber(),
-                clientPage.getSize(),
-                clientPage.getTotalElements()
-        );
+        return PagedResponse.of(clientPage, content);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ClientResponseDto> getClientsAfter(
+            String after,
+            Integer limit,
+            List<FilterRequest> filters,
+            List<SortRequest> sorts) {
+
+        int safeLimit = limit == null || limit <= 0 ? 10 : limit;
+        Sort sort = CursorUtil.withTiebreaker(SortUtil.getSort(sorts), "id");
+
+        Specification<Clients> spec = new FilterSpecificationBuilder<Clients>()
+                .build(filters);
+
+        Specification<Clients> isActiveSpec = (root, query, cb) ->
+                cb.isTrue(root.get("isActive"));
+
+        Specification<Clients> finalSpec = Specification.where(isActiveSpec).and(spec);
+
+        // Seeks past the last row of the previous page instead of counting and skipping rows
+        Window<Clients> window = clientsRepository.findBy(finalSpec, query -> query
+                .sortBy(sort)
+                .limit(safeLimit)
+                .scroll(CursorUtil.decode(after, sort, Clients.class)));
+
+        if (window.isEmpty() && (after == null || after.isBlank())) {
+            throw new TimeSheetException(
+                    ErrorCode.NOT_FOUND_ERROR,
+                    ErrorMessage.NO_ACTIVE_CLIENTS_FOUND
+            );
+        }
+
+        List<ClientResponseDto> content = window.getContent().stream()
+                .map(client -> new ClientResponseDto(
+                        client.getId(),
+                        client.getName(),
+                        client.getContactPerson(),
+                        client.getContactEmail(),
+                        client.getAddress(),
+                        client.isActive()
+                )).toList();
+
+        return new CursorPagedResponse<>(content, safeLimit, CursorUtil.nextCursor(window), window.hasNext());
     }
 
 
 
     @Override
+    @Cacheable(cacheNames = CacheNames.CLIENTS, key = "#id")
+    @Transactional(readOnly = true)
     public Optional<ClientResponseDto> getClientById(Long id) {
         Clients client = clientsRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new TimeSheetException(
@@ -115,6 +170,7 @@ public class ClientServiceImpl implements ClientService {
 
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.CLIENTS, key = "#id")
     public String updateClient(Long id, ClientDto dto) throws TimeSheetException {
         Clients client = clientsRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new TimeSheetException(
@@ -130,6 +186,7 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.CLIENTS, key = "#id")
     public String updateClientStatus(Long id, boolean active) throws TimeSheetException {
         Clients client = clientsRepository.findById(id)
                 .orElseThrow(() -> new TimeSheetException(
@@ -143,6 +200,7 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ClientResponseDto> getAllClientsProject() {
         List<Clients> activeClients = clientsRepository.findByIsActiveTrue();
 
@@ -2,14 +2,18 @@ package com.example.timesheet.service.serviceimpl;
 
 
 
+import com.example.timesheet.common.constants.CacheNames;
 import com.example.timesheet.common.constants.ErrorCode;
 import com.example.timesheet.common.constants.ErrorMessage;
 import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
 import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.utils.CursorUtil;
 import com.example.timesheet.utils.FilterSpecificationBuilder;
+import com.example.timesheet.utils.SliceUtil;
 import com.example.timesheet.utils.SortUtil;
 import com.example.timesheet.repository.CostCenterRepository;
 import com.example.timesheet.repository.ProjectRepository;
@@ -21,11 +25,16 @@ import com.example.timesheet.models.CostCenter;
 import com.example.timesheet.models.Project;
 import com.example.timesheet.service.CostCenterService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -51,11 +60,13 @@ public class CostCenterServiceImpl implements CostCenterService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<CostCenterResponseDto> getAllCostCenters(
             Integer offset,
             Integer limit,
             List<FilterRequest> filters,
-            List<SortRequest> sorts) {
+            List<SortRequest> sorts,
+            boolean withTotal) {
 
         int safeOffset = offset == null ? 0 : offset;
         int safeLimit = limit == null || limit <= 0 ? 10 : limit;
@@ -68,7 +79,9 @@ public class CostCenterServiceImpl implements CostCenterService {
 
         Specification<CostCenter> finalSpec = Specification.where(isActiveSpec).and(dynamicSpec);
 
-        Page<CostCenter> costCenterPage = costCenterRepository.findAll(finalSpec, pageable);
+        Slice<CostCenter> costCenterPage = withTotal
+                ? costCenterRepository.findAll(finalSpec, pageable)
+                : SliceUtil.slice(costCenterRepository, finalSpec, pageable);
 
         if (costCenterPage.isEmpty()) {
             throw new TimeSheetException(
@@ -81,15 +94,47 @@ public class CostCenterServiceImpl implements CostCenterService {
                 .map(this::mapToCostCenterResponseDto)
                 .collect(Collectors.toList());
 
-        return new PagedResponse<>(
-                content,
-                costCenterPage.getNumber(),
-                costCenterPage.getSize(),
-                costCenterPage.getTotalElements()
-        );
+        return PagedResponse.of(costCenterPage, content);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<CostCenterResponseDto> getCostCentersAfter(
+            String after,
+            Integer limit,
+            List<FilterRequest> filters,
+            List<SortRequest> sorts) {
+
+        int safeLimit = limit == null || limit <= 0 ? 10 : limit;
+        Sort sort = CursorUtil.withTiebreaker(SortUtil.getSort(sorts), "costCenterCode");
+
+        Specification<CostCenter> dynamicSpec = new FilterSpecificationBuilder<CostCenter>().build(filters);
+        Specification<CostCenter> isActiveSpec = (root, query, cb) -> cb.isTrue(root.get("isActive"));
+
+        Specification<CostCenter> finalSpec = Specification.where(isActiveSpec).and(dynamicSpec);
+
+        Window<CostCenter> window = costCenterRepository.findBy(finalSpec, query -> query
+                .sortBy(sort)
+                .limit(safeLimit)
+                .scroll(CursorUtil.decode(after, sort, CostCenter.class)));
+
+        if (window.isEmpty() && (after == null || after.isBlank())) {
+            throw new TimeSheetException(
+                    ErrorCode.NOT_FOUND_ERROR,
+                    ErrorMessage.NO_ACTIVE_COST_CENTERS_FOUND
+            );
+        }
+
+        List<CostCenterResponseDto> content = window.getContent().stream()
+                .map(this::mapToCostCenterResponseDto)
+                .collect(Collectors.toList());
+
+        return new CursorPagedResponse<>(content, safeLimit, CursorUtil.nextCursor(window), window.hasNext());
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.COST_CENTERS, key = "#costCenterCode")
+    @Transactional(readOnly = true)
     public CostCenterResponseDto getCostCenterByCode(String costCenterCode) throws TimeSheetException {
         CostCenter costCenter = costCenterRepository.findByCostCenterCodeAndIsActiveTrue(costCenterCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -100,6 +145,7 @@ public class CostCenterServiceImpl implements CostCenterService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.COST_CENTERS, key = "#costCenterCode")
     public String updateCostCenter(String costCenterCode, CostCenterDto dto) throws TimeSheetException {
         CostCenter costCenter = costCenterRepository.findByCostCenterCodeAndIsActiveTrue(costCenterCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -116,6 +162,7 @@ public class CostCenterServiceImpl implements CostCenterService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.COST_CENTERS, key = "#costCenterCode")
     public String updateCostCenterStatus(String costCenterCode, boolean active) throws TimeSheetException {
         CostCenter costCenter = costCenterRepository.findById(costCenterCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -129,6 +176,7 @@ public class CostCenterServiceImpl implements CostCenterService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CostCenterResponseDto> getAllCostCentersUnderManager(String costCenterManagerCode) {
         return costCenterRepository.findByCostCenterManagerCodeIgnoreCaseAndIsActiveTrue
                         (costCenterManagerCode)
@@ -138,6 +186,7 @@ public class CostCenterServiceImpl implements CostCenterService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectResponseDto> getProjectsByCostCenterCode(String costCenterCode) {
         return projectRepository.findByCostCenter_CostCenterCodeIgnoreCaseAndIsActiveTrue(costCenterCode)
                 .stream()
@@ -170,6 +219,7 @@ public class CostCenterServiceImpl implements CostCenterService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CostCenterResponseDto> getAllCostCentersProjects() {
         List<CostCenter> activeCostCenters = costCenterRepository.findByIsActiveTrue();
 
@@ -1,5 +1,9 @@
 package com.example.timesheet.service.serviceimpl;
 
+import com.example.timesheet.common.constants.CacheNames;
+import com.example.timesheet.dto.projection.ProjectReference;
+import com.example.timesheet.dto.projection.ResourceVersionView;
+import com.example.timesheet.dto.projection.TimesheetSummaryView;
 import com.example.timesheet.dto.response.ccmanagerdashboard.CCManagerDashboardDto;
 import com.example.timesheet.dto.response.employeedashboard.EmployeeDashboardDto;
 import com.example.timesheet.dto.response.employeedashboard.EmployeeStatusSummaryDto;
@@ -7,28 +11,26 @@ import com.example.timesheet.dto.response.managerdashboard.ManagerDashboardDto;
 import com.example.timesheet.dto.response.managerdashboard.ManagerDashboardResponseDto;
 import com.example.timesheet.dto.response.managerdashboard.ManagerDashboardSummaryDto;
 import com.example.timesheet.dto.response.projectmanagerdashboard.ProjectManagerDashboardDTO;
-import com.example.timesheet.repository.DailyTimeSheetRepository;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
 import com.example.timesheet.repository.ProjectEmployeeRepository;
 import com.example.timesheet.repository.ProjectRepository;
 import com.example.timesheet.repository.TimesheetSummaryRepository;
-import com.example.timesheet.client.IdentityServiceClient;
 import com.example.timesheet.dto.request.WeeklyTimeSheetEntryDto;
 import com.example.timesheet.dto.response.TimesheetSummaryResponseDto;
 
 
 import com.example.timesheet.dto.response.UserIdentityDto;
 import com.example.timesheet.enums.TimeSheetStatus;
-import com.example.timesheet.models.DailyTimeSheet;
-import com.example.timesheet.models.Project;
-import com.example.timesheet.models.TimesheetSummary;
 import com.example.timesheet.service.DashboardService;
-import jakarta.transaction.Transactional;
+import com.example.timesheet.service.EmployeeDirectoryService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Calendar;
@@ -36,22 +38,33 @@ import java.util.Optional;
 import java.util.Comparator;
 import java.util.ArrayList;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+// Dashboards are cached per (type, code, year, month); DashboardCacheInvalidator evicts the entries a committed write touches
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
-    private final DailyTimeSheetRepository dailyTimeSheetRepository;
     private final TimesheetSummaryRepository timesheetSummaryRepository;
     private final ProjectRepository projectRepository;
     private final ProjectEmployeeRepository projectEmployeeRepository;
-    private final IdentityServiceClient identityServiceClient;
+    private final EmployeeDirectoryService employeeDirectoryService;
+    private final MonthlyHoursRollupRepository monthlyHoursRollupRepository;
+    @Qualifier("dashboardExecutor")
+    private final Executor dashboardExecutor;
 
 
     @Override
-    public EmployeeDashboardDto getEmployeeDashboard(String employeeCode, int year, int month) {
-        List<TimesheetSummary> summaries = timesheetSummaryRepository
-                .findByIdEmployeeCodeAndIdTimesheetYearAndIdTimesheetMonth(employeeCode, year, month);
+    @Cacheable(cacheNames = CacheNames.DASHBOARDS, sync = true,
+            key = "T(com.example.timesheet.cache.DashboardKey).employee(#employeeCode, #year, #month, #version)")
+    @Transactional(readOnly = true)
+    public EmployeeDashboardDto getEmployeeDashboard(String employeeCode, int year, int month, String version) {
+        List<TimesheetSummaryView> summaries = timesheetSummaryRepository
+                .findByIdEmployeeCodeAndIdTimesheetYearAndIdTimesheetMonth(employeeCode, year, month, TimesheetSummaryView.class);
 
         List<TimesheetSummaryResponseDto> weeklySummaries = summaries.stream().map(summary -> {
                     TimesheetSummaryResponseDto dto = new TimesheetSummaryResponseDto();
@@ -69,10 +82,10 @@ public class DashboardServiceImpl implements DashboardService {
                 .collect(Collectors.toList());
 
         Map<TimeSheetStatus, Long> statusCountMap = summaries.stream()
-                .collect(Collectors.groupingBy(TimesheetSummary::getStatus, Collectors.counting()));
+                .collect(Collectors.groupingBy(TimesheetSummaryView::getStatus, Collectors.counting()));
 
         Map<TimeSheetStatus, Double> statusHourMap = summaries.stream()
-                .collect(Collectors.groupingBy(TimesheetSummary::getStatus,
+                .collect(Collectors.groupingBy(TimesheetSummaryView::getStatus,
                         Collectors.summingDouble(ts -> ts.getTotalHours() == null ? 0.0 : ts.getTotalHours())));
 
         List<EmployeeStatusSummaryDto> statusSummary = statusCountMap.entrySet().stream()
@@ -86,44 +99,74 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionView getEmployeeDashboardVersion(String employeeCode, int year, int month) {
+        return timesheetSummaryRepository.findMonthVersion(employeeCode, year, month);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionView getManagerDashboardVersion(String managerCode, int year, int month) {
+        return timesheetSummaryRepository.findTeamMonthVersion(managerCode, year, month);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheNames.DASHBOARDS, sync = true,
+            key = "T(com.example.timesheet.cache.DashboardKey).projectManager(#managerCode)")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProjectManagerDashboardDTO getPmDashboard(String managerCode) {
 
-        List<Project> projects = projectRepository.findByProjectManagerCodeAndIsActiveTrue(managerCode);
+        List<ProjectReference> projects = projectRepository.findActiveReferencesByProjectManagerCode(managerCode);
 
         // Total Active Projects
         int totalProjects = projects.size();
+        if (projects.isEmpty()) {
+            return ProjectManagerDashboardDTO.builder()
+                    .totalActiveProjects(0)
+                    .projectHours(List.of())
+                    .employeeDistribution(List.of())
+                    .timesheetStatusSummary(List.of())
+                    .monthlyHoursTrend(List.of())
+                    .build();
+        }
 
-        // Hours per project
-        List<ProjectManagerDashboardDTO.ProjectHoursDTO> projectHours = dailyTimeSheetRepository.findByProjectCodeIn(
-                        projects.stream().map(Project::getProjectCode).collect(Collectors.toList()))
-                .stream()
-                .collect(Collectors.groupingBy(DailyTimeSheet::getProjectCode,
-                        Collectors.summingDouble(DailyTimeSheet::getHoursSpent)))
-                .entrySet().stream()
-                .map(e -> new ProjectManagerDashboardDTO.ProjectHoursDTO(
-                        e.getKey(),
-                        projects.stream().filter(p -> p.getProjectCode().equals(e.getKey()))
-                                .findFirst().map(Project::getTitle).orElse("N/A"),
-                        e.getValue()))
+        Map<String, ProjectReference> projectsByCode = projects.stream()
+                .collect(Collectors.toMap(ProjectReference::projectCode, Function.identity(), (a, b) -> a));
+        Set<String> projectCodes = projectsByCode.keySet();
+
+        // The four aggregates are independent: run them side by side, each on its own connection
+        CompletableFuture<List<Object[]>> rawHours =
+                async(() -> monthlyHoursRollupRepository.findTotalHoursPerProject(projectCodes, null, null));
+        CompletableFuture<List<Object[]>> rawEmployeeCounts =
+                async(() -> projectEmployeeRepository.countEmployeesPerProject(projectCodes));
+        CompletableFuture<List<Object[]>> rawStatusSummary =
+                async(() -> timesheetSummaryRepository.countStatusByProjectCode(List.copyOf(projectCodes)));
+        CompletableFuture<List<Object[]>> rawMonthlyHours =
+                async(() -> monthlyHoursRollupRepository.findMonthlyHoursForProjects(projectCodes));
+
+        // Hours per project, summed in the database over all time
+        List<ProjectManagerDashboardDTO.ProjectHoursDTO> projectHours = join(rawHours).stream()
+                .map(row -> new ProjectManagerDashboardDTO.ProjectHoursDTO(
+                        (String) row[0],
+                        Optional.ofNullable(projectsByCode.get((String) row[0])).map(ProjectReference::title).orElse("N/A"),
+                        ((Number) row[1]).doubleValue()))
                 .collect(Collectors.toList());
 
-        // Employee distribution
+        // Employee distribution: one GROUP BY for the whole portfolio, projects without assignments count 0
+        Map<String, Long> employeeCounts = join(rawEmployeeCounts).stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> ((Number) row[1]).longValue()));
+
         List<ProjectManagerDashboardDTO.ProjectEmployeeCountDTO> employeeDist = projects.stream()
                 .map(p -> new ProjectManagerDashboardDTO.ProjectEmployeeCountDTO(
-                        p.getProjectCode(),
-                        Optional.ofNullable(projectEmployeeRepository.countByProject(p)).orElse(0L).intValue()
+                        p.projectCode(),
+                        employeeCounts.getOrDefault(p.projectCode(), 0L).intValue()
                 ))
                 .collect(Collectors.toList());
 
 
         // Timesheet status summary
-        List<Object[]> rawStatusSummary =
-                timesheetSummaryRepository.countStatusByProjectCode(projects.stream()
-                        .map(Project::getProjectCode)
-                        .toList());
-
         List<ProjectManagerDashboardDTO.ProjectStatusSummaryDTO> statusSummary =
-                rawStatusSummary.stream()
+                join(rawStatusSummary).stream()
                         .map(row -> new ProjectManagerDashboardDTO.ProjectStatusSummaryDTO(
                                 (String) row[0],
                                 (String) row[1],
@@ -131,18 +174,11 @@ public class DashboardServiceImpl implements DashboardService {
                         ))
                         .toList();
 
-        // Monthly hours trend
-        List<DailyTimeSheet> allSheets = dailyTimeSheetRepository.findByProjectCodeIn(
-                projects.stream().map(Project::getProjectCode).collect(Collectors.toList()));
-
-        Map<String, Double> monthlyTrend = allSheets.stream()
-                .collect(Collectors.groupingBy(
-                        sheet -> new SimpleDateFormat("yyyy-MM").format(sheet.getWorkDate()),
-                        Collectors.summingDouble(DailyTimeSheet::getHoursSpent)));
-
-        List<ProjectManagerDashboardDTO.MonthlyHoursDTO> monthlyHours = monthlyTrend.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(e -> new ProjectManagerDashboardDTO.MonthlyHoursDTO(e.getKey(), e.getValue()))
+        // Monthly hours trend, already ordered by month
+        List<ProjectManagerDashboardDTO.MonthlyHoursDTO> monthlyHours = join(rawMonthlyHours).stream()
+                .map(row -> new ProjectManagerDashboardDTO.MonthlyHoursDTO(
+                        (String) row[0],
+                        ((Number) row[1]).doubleValue()))
                 .toList();
 
         return ProjectManagerDashboardDTO.builder()
@@ -155,10 +191,11 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    @Transactional
-    public ManagerDashboardDto getEmployeesTimesheetUnderManager(String managerCode, int year, int month) {
-        ResponseEntity<List<UserIdentityDto>> response = identityServiceClient.getEmployeesUnderManager(managerCode);
-        List<UserIdentityDto> employees = Optional.ofNullable(response.getBody()).orElse(List.of());
+    @Cacheable(cacheNames = CacheNames.DASHBOARDS, sync = true,
+            key = "T(com.example.timesheet.cache.DashboardKey).manager(#managerCode, #year, #month, #version)")
+    @Transactional(readOnly = true)
+    public ManagerDashboardDto getEmployeesTimesheetUnderManager(String managerCode, int year, int month, String version) {
+        List<UserIdentityDto> employees = employeeDirectoryService.getEmployeesUnderManager(managerCode);
 
         if (employees.isEmpty()) {
             return new ManagerDashboardDto(List.of(), List.of());
@@ -169,14 +206,14 @@ public class DashboardServiceImpl implements DashboardService {
 
         List<String> employeeCodes = new ArrayList<>(empMap.keySet());
 
-        List<TimesheetSummary> summaries = timesheetSummaryRepository
-                .findByIdEmployeeCodeInAndIdTimesheetYearAndIdTimesheetMonth(employeeCodes, year, month);
+        List<TimesheetSummaryView> summaries = timesheetSummaryRepository
+                .findByIdEmployeeCodeInAndIdTimesheetYearAndIdTimesheetMonth(employeeCodes, year, month, TimesheetSummaryView.class);
 
         Map<TimeSheetStatus, Long> statusCountMap = summaries.stream()
-                .collect(Collectors.groupingBy(TimesheetSummary::getStatus, Collectors.counting()));
+                .collect(Collectors.groupingBy(TimesheetSummaryView::getStatus, Collectors.counting()));
 
         Map<TimeSheetStatus, Double> statusHourMap = summaries.stream()
-                .collect(Collectors.groupingBy(TimesheetSummary::getStatus,
+                .collect(Collectors.groupingBy(TimesheetSummaryView::getStatus,
                         Collectors.summingDouble(ts -> ts.getTotalHours() == null ? 0 : ts.getTotalHours())));
 
         List<ManagerDashboardSummaryDto> statusSummary = statusCountMap.entrySet().stream()
@@ -187,7 +224,7 @@ public class DashboardServiceImpl implements DashboardService {
                 ))
                 .toList();
 
-        Map<String, List<TimesheetSummary>> groupedByEmp = summaries.stream()
+        Map<String, List<TimesheetSummaryView>> groupedByEmp = summaries.stream()
                 .collect(Collectors.groupingBy(ts -> ts.getId().getEmployeeCode()));
 
         List<ManagerDashboardResponseDto> employeeDetails = groupedByEmp.entrySet().stream()
@@ -227,35 +264,42 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.DASHBOARDS, sync = true,
+            key = "T(com.example.timesheet.cache.DashboardKey).costCenterManager(#managerCode, #year, #month)")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CCManagerDashboardDto getCCManagerDashboard(String managerCode, Integer year, Integer month) {
-        // Fetch all projects for the cost center manager
-        List<Project> projects = projectRepository.findAllByCostCenter_CostCenterManagerCode(managerCode);
+        // Fetch code and active flag of all projects for the cost center manager
+        List<Object[]> projects = projectRepository.findCodesAndActiveFlagByCostCenterManager(managerCode);
 
         // Collect project codes
         Set<String> projectCodes = projects.stream()
-                .map(Project::getProjectCode)
+                .map(row -> (String) row[0])
                 .collect(Collectors.toSet());
 
         // Count of active projects
-        int activeProjectCount = (int) projects.stream().filter(Project::isActive).count();
+        int activeProjectCount = (int) projects.stream().filter(row -> (Boolean) row[1]).count();
 
-        // Fetch total hours per project
-        List<Object[]> rawTotalHours = dailyTimeSheetRepository.findTotalHoursPerProject(projectCodes, year, month);
-        Map<String, Double> totalHoursPerProject = rawTotalHours.stream()
+        // Hours, assignments and approval statuses are fetched concurrently
+        CompletableFuture<List<Object[]>> rawTotalHours =
+                async(() -> monthlyHoursRollupRepository.findTotalHoursPerProject(projectCodes, year, month));
+        CompletableFuture<List<Object[]>> rawEmployeeCounts =
+                async(() -> projectEmployeeRepository.countEmployeesPerProject(projectCodes));
+        CompletableFuture<List<Object[]>> rawTimesheetStatus =
+                async(() -> timesheetSummaryRepository.countTimesheetStatusByManager(managerCode, year, month));
+
+        Map<String, Double> totalHoursPerProject = join(rawTotalHours).stream()
                 .collect(Collectors.toMap(
                         row -> (String) row[0],
                         row -> ((Number) row[1]).doubleValue()
                 ));
 
-        List<Object[]> rawEmployeeCounts = projectEmployeeRepository.countEmployeesPerProject(projectCodes);
-        Map<String, Long> employeeCountPerProject = rawEmployeeCounts.stream()
+        Map<String, Long> employeeCountPerProject = join(rawEmployeeCounts).stream()
                 .collect(Collectors.toMap(
                         row -> (String) row[0],
                         row -> ((Number) row[1]).longValue()
                 ));
 
-        List<Object[]> rawTimesheetStatus = timesheetSummaryRepository.countTimesheetStatusByManager(managerCode, year, month);
-        Map<String, Long> timesheetStatusSummary = rawTimesheetStatus.stream()
+        Map<String, Long> timesheetStatusSummary = join(rawTimesheetStatus).stream()
                 .collect(Collectors.toMap(
                         row -> (String) row[0],
                         row -> ((Number) row[1]).longValue()
@@ -270,5 +314,21 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, dashboardExecutor);
+    }
+
+    // Waits for a sub-query and rethrows its own exception rather than the CompletionException wrapper
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
 
 }
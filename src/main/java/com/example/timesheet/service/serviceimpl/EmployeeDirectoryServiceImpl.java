@@ -0,0 +1,195 @@
+package com.example.timesheet.service.serviceimpl;
+
+import com.example.timesheet.client.IdentityServiceClient;
+import com.example.timesheet.dto.response.UserIdentityDto;
+import com.example.timesheet.models.EmployeeDirectory;
+import com.example.timesheet.repository.EmployeeDirectoryRepository;
+import com.example.timesheet.service.EmployeeDirectoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeDirectoryServiceImpl implements EmployeeDirectoryService {
+
+    private final IdentityServiceClient identityServiceClient;
+    private final EmployeeDirectoryRepository employeeDirectoryRepository;
+
+    // Replaced as a whole once a sync commits, so readers never see a half-applied or rolled back refresh
+    private volatile DirectoryIndex index;
+
+    @Override
+    @Transactional
+    public int syncFromIdentityService() {
+        List<Map<String, String>> users = identityServiceClient.getAllUsersList().getBody();
+
+        // Keep the previous copy rather than emptying the directory when the identity service returns nothing
+        if (users == null || users.isEmpty()) {
+            log.warn("Identity service returned no users; employee directory left unchanged");
+            return 0;
+        }
+
+        Map<String, DirectoryEntry> fetched = users.stream()
+                .map(this::toEntry)
+                .filter(entry -> entry.employeeCode() != null)
+                .collect(Collectors.toMap(DirectoryEntry::employeeCode, Function.identity(),
+                        (first, second) -> second, LinkedHashMap::new));
+
+        // Diffed against the table rather than this instance's index, which may predate another instance's sync;
+        // only rows that differ are written
+        Map<String, DirectoryEntry> stored = employeeDirectoryRepository.findAll().stream()
+                .map(this::toEntry)
+                .collect(Collectors.toMap(DirectoryEntry::employeeCode, Function.identity()));
+        List<EmployeeDirectory> changed = fetched.values().stream()
+                .filter(entry -> !entry.equals(stored.get(entry.employeeCode())))
+                .map(this::toEntity)
+                .toList();
+        List<String> removed = stored.keySet().stream()
+                .filter(code -> !fetched.containsKey(code))
+                .toList();
+
+        int written = employeeDirectoryRepository.upsertAll(changed, LocalDateTime.now());
+        if (!removed.isEmpty()) {
+            employeeDirectoryRepository.deleteAllByIdInBatch(removed);
+        }
+        DirectoryIndex synced = DirectoryIndex.of(fetched.values());
+        afterCommit(() -> index = synced);
+
+        log.info("Employee directory synced: {} changed, {} removed, {} total", written, removed.size(), fetched.size());
+        return written;
+    }
+
+    // Falls back to the identity service only for employees created since the last sync
+    @Override
+    public Optional<UserIdentityDto> findEmployee(String employeeCode) {
+        DirectoryEntry entry = index().byCode().get(employeeCode);
+        if (entry != null) {
+            return Optional.of(entry.toUser());
+        }
+        try {
+            return Optional.ofNullable(identityServiceClient.getUserByemployeeCode(employeeCode).getBody());
+        } catch (Exception e) {
+            log.warn("Employee {} not in directory and identity lookup failed: {}", employeeCode, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<UserIdentityDto> getEmployeesUnderManager(String managerCode) {
+        return toUsers(index().byManager().getOrDefault(managerCode, List.of()));
+    }
+
+    @Override
+    public List<UserIdentityDto> getAllEmployees() {
+        return toUsers(index().byCode().values());
+    }
+
+    private DirectoryIndex index() {
+        DirectoryIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    index = DirectoryIndex.of(employeeDirectoryRepository.findAll().stream()
+                            .map(this::toEntry)
+                            .toList());
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    // Outside a transaction (no synchronization active) the action runs at once
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Callers get their own copies: UserIdentityDto is mutable and the index is shared by every request
+    private static List<UserIdentityDto> toUsers(Collection<DirectoryEntry> entries) {
+        return entries.stream().map(DirectoryEntry::toUser).toList();
+    }
+
+    private DirectoryEntry toEntry(Map<String, String> user) {
+        return new DirectoryEntry(
+                user.get("keycloakUserId"),
+                user.get("employeeCode"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("email"),
+                user.get("employeeType"),
+                user.get("managerCode")
+        );
+    }
+
+    private DirectoryEntry toEntry(EmployeeDirectory employee) {
+        return new DirectoryEntry(
+                employee.getKeycloakUserId(),
+                employee.getEmployeeCode(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getEmployeeType(),
+                employee.getManagerCode()
+        );
+    }
+
+    private EmployeeDirectory toEntity(DirectoryEntry entry) {
+        return EmployeeDirectory.builder()
+                .employeeCode(entry.employeeCode())
+                .managerCode(entry.managerCode())
+                .keycloakUserId(entry.keycloakUserId())
+                .firstName(entry.firstName())
+                .lastName(entry.lastName())
+                .email(entry.email())
+                .employeeType(entry.employeeType())
+                .build();
+    }
+
+    // Immutable copy of one directory row, compared field by field when diffing a sync
+    private record DirectoryEntry(String keycloakUserId, String employeeCode, String firstName, String lastName,
+                                  String email, String employeeType, String managerCode) {
+
+        UserIdentityDto toUser() {
+            return new UserIdentityDto(keycloakUserId, employeeCode, firstName, lastName, email, employeeType,
+                    managerCode);
+        }
+    }
+
+    private record DirectoryIndex(Map<String, DirectoryEntry> byCode,
+                                  Map<String, List<DirectoryEntry>> byManager) {
+
+        static DirectoryIndex of(Collection<DirectoryEntry> entries) {
+            Map<String, DirectoryEntry> byCode = entries.stream()
+                    .collect(Collectors.toUnmodifiableMap(DirectoryEntry::employeeCode, Function.identity()));
+            Map<String, List<DirectoryEntry>> byManager = entries.stream()
+                    .filter(entry -> Objects.nonNull(entry.managerCode()))
+                    .collect(Collectors.groupingBy(DirectoryEntry::managerCode,
+                            Collectors.collectingAndThen(Collectors.toList(), List::copyOf)));
+            return new DirectoryIndex(byCode, Map.copyOf(byManager));
+        }
+    }
+}
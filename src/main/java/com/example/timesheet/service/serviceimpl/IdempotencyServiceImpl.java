@@ -0,0 +1,75 @@
+package com.example.timesheet.service.serviceimpl;
+
+import com.example.timesheet.common.constants.ErrorCode;
+import com.example.timesheet.common.constants.ErrorMessage;
+import com.example.timesheet.enums.IdempotencyStatus;
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.models.IdempotencyRecord;
+import com.example.timesheet.repository.IdempotencyRecordRepository;
+import com.example.timesheet.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${timesheet.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${timesheet.idempotency.in-progress-lease-minutes:5}")
+    private long leaseMinutes;
+
+    // The claim commits on its own so it is visible to concurrent retries before the write starts;
+    // it only holds the key for the lease until complete() extends it to the full TTL
+    @Override
+    @Transactional
+    public boolean claim(String key, String endpoint, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyRecordRepository.claim(key, endpoint, requestHash, now, now.plusMinutes(leaseMinutes)) > 0;
+    }
+
+    @Override
+    public IdempotencyRecord getCompleted(String key, String endpoint, String requestHash) {
+        IdempotencyRecord stored = idempotencyRecordRepository.findById(key)
+                .orElseThrow(() -> new TimeSheetException(ErrorCode.CONFLICT_ERROR,
+                        ErrorMessage.IDEMPOTENCY_KEY_IN_PROGRESS));
+
+        if (!stored.getEndpoint().equals(endpoint) || !stored.getRequestHash().equals(requestHash)) {
+            throw new TimeSheetException(ErrorCode.CONFLICT_ERROR,
+                    ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (stored.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw new TimeSheetException(ErrorCode.CONFLICT_ERROR,
+                    ErrorMessage.IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+        return stored;
+    }
+
+    // Joins the handler's transaction, so the stored response commits together with the write it describes
+    @Override
+    @Transactional
+    public void complete(String key, int responseStatus, String responseBody) {
+        idempotencyRecordRepository.complete(key, IdempotencyStatus.COMPLETED, responseStatus, responseBody,
+                LocalDateTime.now().plusHours(ttlHours));
+    }
+
+    // Failed requests give the key back so the client's retry is processed normally
+    @Override
+    @Transactional
+    public void release(String key) {
+        idempotencyRecordRepository.deleteById(key);
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -1,20 +1,24 @@
 package com.example.timesheet.service.serviceimpl;
 
+import com.example.timesheet.common.constants.CacheNames;
 import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.common.constants.ErrorCode;
 import com.example.timesheet.common.constants.ErrorMessage;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
+import com.example.timesheet.dto.paginationdto.response.CursorPagedResponse;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
+import com.example.timesheet.events.ProjectChangedEvent;
 import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.utils.CursorUtil;
 import com.example.timesheet.utils.FilterSpecificationBuilder;
+import com.example.timesheet.utils.SliceUtil;
 import com.example.timesheet.utils.SortUtil;
 import com.example.timesheet.repository.ProjectRepository;
 import com.example.timesheet.repository.ProjectEmployeeRepository;
 import com.example.timesheet.repository.ClientsRepository;
 import com.example.timesheet.repository.CostCenterRepository;
 import com.example.timesheet.repository.ProjectRolesRepository;
-import com.example.timesheet.client.IdentityServiceClient;
 import com.example.timesheet.dto.request.AssignEmployeesDto;
 import com.example.timesheet.dto.request.ProjectRolesRequestDto;
 import com.example.timesheet.dto.request.ProjectDto;
@@ -28,16 +32,23 @@ import com.example.timesheet.models.Clients;
 import com.example.timesheet.models.CostCenter;
 import com.example.timesheet.models.ProjectEmployee;
 import com.example.timesheet.models.ProjectRoles;
+import com.example.timesheet.service.EmployeeDirectoryService;
 import com.example.timesheet.service.ProjectManagementService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,11 +60,14 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
     private final ClientsRepository clientsRepository;
     private final CostCenterRepository costCenterRepository;
     private final ProjectRepository projectRepository;
-    private final IdentityServiceClient identityServiceClient;
+    private final EmployeeDirectoryService employeeDirectoryService;
     private final ProjectEmployeeRepository projectEmployeeRepository;
     private final ProjectRolesRepository rolesInProjectRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    // The code is generated on save, so a cached miss for it cannot be keyed up front
+    @CacheEvict(cacheNames = CacheNames.PROJECT_REFERENCES, allEntries = true)
     public String createProject(ProjectDto dto) {
 
         Clients client = clientsRepository.findByIdAndIsActiveTrue(dto.getClientId())
@@ -80,11 +94,13 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         project.setAllocated_hours(dto.getAllocatedHours());
 
         projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.ownership(project.getProjectCode()));
 
         return MessageConstants.PROJECT_CREATED + dto.getTitle();
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.PROJECT_ROLE_NAMES, allEntries = true)
     public String createRolesInProject(ProjectRolesRequestDto dto) {
         boolean exists = rolesInProjectRepository.existsByRoleName(dto.getRoleName());
         if (exists){
@@ -96,6 +112,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         return MessageConstants.PROJECT_ROLE_CREATED;
     }
     @Override
+    @CacheEvict(cacheNames = CacheNames.PROJECT_ROLE_NAMES, allEntries = true)
     public String updateRolesInProject(ProjectRolesRequestDto dto, Long roleId) {
         ProjectRoles roles = rolesInProjectRepository.findById(roleId).orElseThrow(() -> new TimeSheetException(
                 ErrorCode.NOT_FOUND_ERROR,
@@ -106,6 +123,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         return MessageConstants.PROJECT_ROLE_UPDATED;
     }
     @Override
+    @Transactional(readOnly = true)
     public String getRolesInProject(Long roleId) {
         ProjectRoles roles = rolesInProjectRepository.findById(roleId).orElseThrow(() -> new TimeSheetException(
                 ErrorCode.NOT_FOUND_ERROR,
@@ -113,23 +131,28 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         return roles.toString();
     }
     @Override
+    @CacheEvict(cacheNames = CacheNames.PROJECT_ROLE_NAMES, allEntries = true)
     public String deleteRolesInProject(Long roleId) {
         rolesInProjectRepository.deleteById(roleId);
         return MessageConstants.DELETED_PROJECT_ROLE;
     }
     @Override
+    @Cacheable(CacheNames.PROJECT_ROLE_NAMES)
+    @Transactional(readOnly = true)
     public List<String> getAllRoleNames() {
         return rolesInProjectRepository.findAll()
                 .stream()
                 .map(ProjectRoles::getRoleName)
-                .collect(Collectors.toList());
+                .toList();
     }
     @Override
+    @Transactional(readOnly = true)
     public PagedResponse<ProjectResponseDto> getAllProjects(
             Integer offset,
             Integer limit,
             List<FilterRequest> filters,
-            List<SortRequest> sorts) {
+            List<SortRequest> sorts,
+            boolean withTotal) {
 
         int safeOffset = offset == null || offset < 0 ? 0 : offset;
         int safeLimit = limit == null || limit <= 0 ? 10 : limit;
@@ -141,7 +164,9 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         Specification<Project> isActiveSpec = (root, query, cb) -> cb.isTrue(root.get("isActive"));
         Specification<Project> finalSpec = Specification.where(isActiveSpec).and(filterSpec);
 
-        Page<Project> projectPage = projectRepository.findAll(finalSpec, pageable);
+        Slice<Project> projectPage = withTotal
+                ? projectRepository.findAll(finalSpec, pageable)
+                : SliceUtil.slice(projectRepository, finalSpec, pageable, "clients", "costCenter");
 
         if (projectPage.isEmpty()) {
             throw new TimeSheetException(
@@ -154,18 +179,50 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
 
-        return new PagedResponse<>(
-                content,
-                projectPage.getNumber(),
-                projectPage.getSize(),
-                projectPage.getTotalElements()
-        );
+        return PagedResponse.of(projectPage, content);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ProjectResponseDto> getProjectsAfter(
+            String after,
+            Integer limit,
+            List<FilterRequest> filters,
+            List<SortRequest> sorts) {
+
+        int safeLimit = limit == null || limit <= 0 ? 10 : limit;
+        Sort sort = CursorUtil.withTiebreaker(SortUtil.getSort(sorts), "projectCode");
+
+        Specification<Project> filterSpec = new FilterSpecificationBuilder<Project>().build(filters);
+        Specification<Project> isActiveSpec = (root, query, cb) -> cb.isTrue(root.get("isActive"));
+        Specification<Project> finalSpec = Specification.where(isActiveSpec).and(filterSpec);
+
+        // project() fetches the client and cost center with the page, like the entity graph on findAll
+        Window<Project> window = projectRepository.findBy(finalSpec, query -> query
+                .project("clients", "costCenter")
+                .sortBy(sort)
+                .limit(safeLimit)
+                .scroll(CursorUtil.decode(after, sort, Project.class)));
+
+        if (window.isEmpty() && (after == null || after.isBlank())) {
+            throw new TimeSheetException(
+                    ErrorCode.NOT_FOUND_ERROR,
+                    ErrorMessage.NO_ACTIVE_PROJECTS_FOUND
+            );
+        }
+
+        List<ProjectResponseDto> content = window.getContent().stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+
+        return new CursorPagedResponse<>(content, safeLimit, CursorUtil.nextCursor(window), window.hasNext());
     }
 
 
 
 
     @Override
+    @Transactional(readOnly = true)
     public ProjectResponseDto getProjectByCode(String code) {
         Project project = projectRepository.findByProjectCodeAndIsActiveTrue(code)
                 .orElseThrow(() -> new TimeSheetException(
@@ -176,6 +233,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.PROJECT_REFERENCES, key = "#code")
     public String updateProject(String code, ProjectDto dto) {
         Project project = projectRepository.findByProjectCodeAndIsActiveTrue(code)
                 .orElseThrow(() -> new TimeSheetException(
@@ -209,10 +267,12 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         }
 
         projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.ownership(code));
         return MessageConstants.PROJECT_UPDATE + project.getTitle();
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.PROJECT_REFERENCES, key = "#projectCode")
     public String updateProjectStatus(String projectCode, boolean active) throws TimeSheetException {
         Project project = projectRepository.findById(projectCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -222,6 +282,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
 
         project.setActive(active);
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.ownership(projectCode));
         return String.format(MessageConstants.PROJECT_STATUS_UPDATED, savedProject.getTitle());
     }
 
@@ -239,13 +300,9 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 })
                 .map(emp -> {
                     ProjectEmployee pe = new ProjectEmployee();
-                    ResponseEntity<UserIdentityDto> user;
-                    try {
-                        user = identityServiceClient.getUserByemployeeCode(emp.getEmployeeCode());
-                    } catch (Exception e) {
-                        throw new TimeSheetException(ErrorCode.NOT_FOUND_ERROR, ErrorMessage.USER_NOT_FOUND + e.getMessage());
-                    }
-                    String employeeKeycloakId = user.getBody().getKeycloakUserId();
+                    employeeDirectoryService.findEmployee(emp.getEmployeeCode())
+                            .orElseThrow(() -> new TimeSheetException(ErrorCode.NOT_FOUND_ERROR,
+                                    ErrorMessage.USER_NOT_FOUND + ": " + emp.getEmployeeCode()));
                     pe.setId(new ProjectEmployeeId(projectCode, emp.getEmployeeCode()));
                     pe.setProject(project);
                     pe.setStartDate(project.getStartDate());
@@ -255,22 +312,26 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 }).toList();
 
         projectEmployeeRepository.saveAll(assignments);
+        if (!assignments.isEmpty()) {
+            eventPublisher.publishEvent(ProjectChangedEvent.assignments(projectCode));
+        }
         return assignments.isEmpty()
                 ? MessageConstants.EMPLOYEE_ALREADY_ASSIGNED
                 : assignments.size() + MessageConstants.EMPLOYEE_ASSIGNED;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectEmployeeDto> getEmployeesByProject(String projectCode) {
         List<ProjectEmployee> entities = projectEmployeeRepository.findByProject_ProjectCodeIgnoreCaseAndIsActiveTrue(projectCode);
 
         return entities.stream().map(pe -> {
-            ResponseEntity<UserIdentityDto> user = identityServiceClient.getUserByemployeeCode(pe.getId().getEmployeeCode());
+            UserIdentityDto user = employeeDirectoryService.findEmployee(pe.getId().getEmployeeCode()).orElse(null);
 
             return ProjectEmployeeDto.builder()
                     .employeeCode(pe.getId().getEmployeeCode())
-                    .firstName(user.getBody().getFirstName())
-                    .lastName(user.getBody().getLastName())
+                    .firstName(user != null ? user.getFirstName() : null)
+                    .lastName(user != null ? user.getLastName() : null)
                     .startDate(pe.getStartDate())
                     .endDate(pe.getEndDate())
                     .isActive(pe.isActive())
@@ -289,9 +350,11 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
         }
 
         projectEmployeeRepository.deleteById(id);
+        eventPublisher.publishEvent(ProjectChangedEvent.assignments(projectCode));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProjectWithEmployeesDto getProjectWithEmployees(String projectCode) {
         Project project = projectRepository.findByProjectCodeAndIsActiveTrue(projectCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -314,6 +377,8 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 .build();
 
     }
+
+    @CacheEvict(cacheNames = CacheNames.PROJECT_REFERENCES, key = "#projectCode")
     public void deleteProject(String projectCode) {
         Project project = projectRepository.findByProjectCodeAndIsActiveTrue(projectCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -322,6 +387,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 ));
 
         projectRepository.delete(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.ownership(projectCode));
     }
 
     @Override
@@ -336,6 +402,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
 
         projectEmployee.setActive(newStatus);
         projectEmployeeRepository.save(projectEmployee);
+        eventPublisher.publishEvent(ProjectChangedEvent.assignments(projectCode));
 
         return String.format(MessageConstants.PROJECT_EMPLOYEE_STATUS_UPDATED, employeeCode, projectCode);
     }
@@ -364,6 +431,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDto> getProjectsByEmployeeCode(String employeeCode) {
         List<ProjectEmployee> assignments = projectEmployeeRepository.findByIdEmployeeCodeIgnoreCaseAndIsActiveTrue(employeeCode);
 
@@ -400,6 +468,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 .build();
     }
     @Override
+    @Transactional(readOnly = true)
     public List<Map<String, String>> getUnassignedUsersForProject(String projectCode) {
         Project project = projectRepository.findByProjectCodeAndIsActiveTrue(projectCode)
                 .orElseThrow(() -> new TimeSheetException(
@@ -412,14 +481,27 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
                 .map(pe -> pe.getId().getEmployeeCode())
                 .collect(Collectors.toSet());
 
-        List<Map<String, String>> allUsers = identityServiceClient.getAllUsersList().getBody();
-
-        return allUsers.stream()
-                .filter(user -> !assignedEmployeeCodes.contains(user.get("employeeCode")))
+        return employeeDirectoryService.getAllEmployees().stream()
+                .filter(user -> !assignedEmployeeCodes.contains(user.getEmployeeCode()))
+                .map(this::toUserMap)
                 .collect(Collectors.toList());
     }
 
+    // Same shape as the identity service's user list
+    private Map<String, String> toUserMap(UserIdentityDto user) {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("keycloakUserId", user.getKeycloakUserId());
+        map.put("employeeCode", user.getEmployeeCode());
+        map.put("firstName", user.getFirstName());
+        map.put("lastName", user.getLastName());
+        map.put("email", user.getEmail());
+        map.put("employeeType", user.getEmployeeType());
+        map.put("managerCode", user.getManagerCode());
+        return map;
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectWithEmployeesDto> getProjectsWithEmployeesUnderManager(String projectManagerCode) {
         List<Project> projects = projectRepository.findByProjectManagerCodeIgnoreCaseAndIsActiveTrue(projectManagerCode);
 
@@ -428,9 +510,7 @@ public class ProjectManagementServiceImpl implements ProjectManagementService {
             List<ProjectEmployeeDto> employeeDtos = project.getProjectEmployees().stream().map(pe -> {
                 String empCode = pe.getId().getEmployeeCode();
 
-                // Call identity service for user details
-                ResponseEntity<UserIdentityDto> userResponse = identityServiceClient.getUserByemployeeCode(empCode);
-                UserIdentityDto user = userResponse.getBody();
+                UserIdentityDto user = employeeDirectoryService.findEmployee(empCode).orElse(null);
 
                 return ProjectEmployeeDto.builder()
                         .employeeCode(empCode)
@@ -3,19 +3,17 @@ package com.example.timesheet.service.serviceimpl;
 
 import com.example.timesheet.repository.DailyTimeSheetRepository;
 import com.example.timesheet.repository.ProjectRepository;
-import com.example.timesheet.client.IdentityServiceClient;
-import com.example.timesheet.common.constants.ErrorCode;
-import com.example.timesheet.common.constants.ErrorMessage;
-import com.example.timesheet.dto.response.UserIdentityDto;
+import com.example.timesheet.dto.projection.DailyEntryExportView;
+import com.example.timesheet.dto.projection.ProjectReference;
 import com.example.timesheet.enums.EntryType;
-import com.example.timesheet.exceptions.TimeSheetException;
 import com.example.timesheet.models.DailyTimeSheet;
-import com.example.timesheet.models.Project;
+import com.example.timesheet.service.EmployeeDirectoryService;
 import com.example.timesheet.service.TimesheetReportService;
 import com.example.timesheet.utils.ExcelReportGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.sql.Date;
@@ -30,7 +28,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.ArrayList;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -38,7 +38,7 @@ public class TimesheetReportServiceImpl implements TimesheetReportService {
 
     private final DailyTimeSheetRepository dailyTimeSheetRepository;
     private final ProjectRepository projectRepository;
-    private final IdentityServiceClient identityServiceClient;
+    private final EmployeeDirectoryService employeeDirectoryService;
 
     @Override
     public ResponseEntity<String> generateReport(Integer year, Integer month, String projectCode, LocalDate startDate, LocalDate endDate) {
@@ -89,13 +89,13 @@ public class TimesheetReportServiceImpl implements TimesheetReportService {
                 }
 
                 for (String projCode : projectEmpMap.keySet()) {
-                    Project project = projectRepository.findById(projCode).orElse(null);
+                    ProjectReference project = projectRepository.findReferenceByProjectCode(projCode).orElse(null);
                     if (project == null) {
                         continue;
                     }
 
-                    String projectName = project.getTitle();
-                    String managerName = getUserName(project.getProjectManagerCode());
+                    String projectName = project.title();
+                    String managerName = getUserName(project.projectManagerCode());
 
                     Map<String, List<DailyTimeSheet>> empEntries = projectEmpMap.get(projCode);
                     for (Map.Entry<String, List<DailyTimeSheet>> entry : empEntries.entrySet()) {
@@ -127,13 +127,13 @@ public class TimesheetReportServiceImpl implements TimesheetReportService {
             Map<String, Map<String, List<DailyTimeSheet>>> data = getMonthlyTimesheetData(year, month, projectCode);
 
             for (String projCode : data.keySet()) {
-                Project project = projectRepository.findById(projCode).orElse(null);
+                ProjectReference project = projectRepository.findReferenceByProjectCode(projCode).orElse(null);
                 if (project == null){
                     continue;
                 }
 
-                String projectName = project.getTitle();
-                String managerName = getUserName(project.getProjectManagerCode());
+                String projectName = project.title();
+                String managerName = getUserName(project.projectManagerCode());
 
                 Map<String, List<DailyTimeSheet>> empEntries = data.get(projCode);
                 for (Map.Entry<String, List<DailyTimeSheet>> entry : empEntries.entrySet()) {
@@ -192,16 +192,17 @@ public class TimesheetReportServiceImpl implements TimesheetReportService {
         return projectEmpMap;
     }
 
-    private String getUserName(String userCode) {
-        try {
-            ResponseEntity<UserIdentityDto> response = identityServiceClient.getUserByemployeeCode(userCode);
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                UserIdentityDto user = response.getBody();
-                return user.getFirstName() + " " + user.getLastName();
-            }
-        } catch (Exception e) {
-            throw new TimeSheetException(ErrorCode.NOT_FOUND_ERROR, ErrorMessage.USER_NOT_FOUND + ": " + e.getMessage());
+    @Override
+    @Transactional(readOnly = true)
+    public void streamMonthlyTimesheetData(int year, int month, String projectCode, Consumer<DailyEntryExportView> sink) {
+        try (Stream<DailyEntryExportView> rows = dailyTimeSheetRepository.streamMonthEntries(year, month, projectCode)) {
+            rows.forEach(sink);
         }
-        return "User-" + userCode;
+    }
+
+    private String getUserName(String userCode) {
+        return employeeDirectoryService.findEmployee(userCode)
+                .map(user -> user.getFirstName() + " " + user.getLastName())
+                .orElse("User-" + userCode);
     }
 }
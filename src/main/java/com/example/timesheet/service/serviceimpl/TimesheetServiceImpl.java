@@ -1,58 +1,80 @@
 package com.example.timesheet.service.serviceimpl;
 
 
-import com.example.timesheet.client.IdentityServiceClient;
 import com.example.timesheet.common.constants.ErrorCode;
 import com.example.timesheet.common.constants.ErrorMessage;
 import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
+import com.example.timesheet.dto.projection.DailyEntryRowView;
+import com.example.timesheet.dto.projection.ResourceVersionView;
+import com.example.timesheet.dto.projection.TimesheetMatrixCellView;
+import com.example.timesheet.dto.projection.TimesheetSummaryView;
 import com.example.timesheet.dto.request.DailyTimesheetDto;
 import com.example.timesheet.dto.request.DailyTimesheetRequestDto;
 import com.example.timesheet.dto.request.TimesheetSummaryDto;
 import com.example.timesheet.dto.request.ManagerApprovalRequestDto;
+import com.example.timesheet.dto.request.MonthlyTimesheetSubmitDto;
 import com.example.timesheet.dto.request.WeeklyTimeSheetEntryDto;
 import com.example.timesheet.dto.response.TimesheetMatrixRowResponseDto;
 import com.example.timesheet.dto.response.DailyTimesheetResponseWithStatus;
 import com.example.timesheet.dto.response.DailyTimeSheetResponseDto;
+import com.example.timesheet.dto.response.ManagerApprovalResultDto;
+import com.example.timesheet.dto.response.MonthlySubmissionResponseDto;
 import com.example.timesheet.dto.response.UserIdentityDto;
 import com.example.timesheet.enums.EntryType;
+import com.example.timesheet.events.TimesheetChangedEvent;
 import com.example.timesheet.enums.TimeSheetStatus;
 import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.keys.MonthlyHoursRollupId;
 import com.example.timesheet.keys.ProjectEmployeeId;
 import com.example.timesheet.models.Project;
 import com.example.timesheet.models.DailyTimeSheet;
+import com.example.timesheet.models.EmployeeDirectory;
+import com.example.timesheet.models.ProjectEmployee;
 import com.example.timesheet.models.TimesheetSummary;
 import com.example.timesheet.keys.TimesheetSummaryId;
 import com.example.timesheet.repository.TimesheetSummaryRepository;
-import com.example.timesheet.repository.ProjectRepository;
 import com.example.timesheet.repository.DailyTimeSheetRepository;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
 import com.example.timesheet.repository.ProjectEmployeeRepository;
 
+import com.example.timesheet.service.EmployeeDirectoryService;
 import com.example.timesheet.service.TimesheetService;
 import com.example.timesheet.utils.FilterSpecificationBuilder;
-import jakarta.transaction.Transactional;
+import com.example.timesheet.utils.SliceUtil;
+import com.example.timesheet.utils.SortUtil;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.sql.Date;
 import java.sql.Timestamp;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.timesheet.common.constants.ErrorCode.NOT_FOUND_ERROR;
 
@@ -62,9 +84,10 @@ public class TimesheetServiceImpl implements TimesheetService{
 
     private final DailyTimeSheetRepository dailyTimeSheetRepository;
     private final TimesheetSummaryRepository timesheetSummaryRepository;
-    private final ProjectRepository projectRepository;
     private final ProjectEmployeeRepository projectEmployeeRepository;
-    private final IdentityServiceClient identityServiceClient;
+    private final EmployeeDirectoryService employeeDirectoryService;
+    private final MonthlyHoursRollupRepository monthlyHoursRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
     public static final String TIMESHEET_YEAR = "timesheetYear";
     public static final String TIMESHEET_MONTH = "timesheetMonth";
     public static final String EMPLOYEE_CODE = "employeeCode";
@@ -76,71 +99,94 @@ public class TimesheetServiceImpl implements TimesheetService{
     public static final String ID_EMPLOYEE_CODE = "id.employeeCode";
     public static final String ID_WEEK_START = "id.weekStart";
     private static final DateTimeFormatter WEEK_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final DateTimeFormatter MATRIX_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final int APPROVE_ALL_CHUNK_SIZE = 1000;
 
 
     //  Save or update a daily time entry
     @Transactional
     public String saveDailyEntry(DailyTimesheetDto dtos) {
+        saveDailyEntries(List.of(dtos));
+        return MessageConstants.DAILY_TIMESHEET_SAVED;
+    }
+
+    // Saves several weekly payloads in one transaction, validating all of them against a single assignment lookup
+    @Transactional
+    public int saveDailyEntries(List<DailyTimesheetDto> batch) {
+        Map<ProjectEmployeeId, ProjectEmployee> assignments = loadActiveAssignments(batch.stream()
+                .flatMap(dtos -> dtos.getDailyEntry().stream())
+                .toList());
+
+        for (DailyTimesheetDto dtos : batch) {
+            List<DailyTimeSheet> entries = buildDailyEntries(dtos.getDailyEntry(), assignments);
+
+            // Existing rows are updated in place, new ones inserted, in a single round trip per batch
+            double hoursDelta = dailyTimeSheetRepository.upsertAll(entries);
+
+            TimesheetSummaryDto summaryDto = new TimesheetSummaryDto();
+            summaryDto.setEmployeeCode(dtos.getEmployeeCode());
+            summaryDto.setTimesheetMonth(dtos.getTimesheetMonth());
+            summaryDto.setTimesheetYear(dtos.getTimesheetYear());
+            summaryDto.setWeekStart(dtos.getWeekStart());
+
+            saveTimesheetSummary(summaryDto, hoursDelta);
+        }
+        return batch.size();
+    }
+
+    public void validateDailyEntry(DailyTimesheetDto dtos) {
+        buildDailyEntries(dtos.getDailyEntry(), loadActiveAssignments(dtos.getDailyEntry()));
+    }
 
-        for (DailyTimesheetRequestDto dto : dtos.getDailyEntry()) {
+    private List<DailyTimeSheet> buildDailyEntries(List<DailyTimesheetRequestDto> rows,
+                                                   Map<ProjectEmployeeId, ProjectEmployee> assignments) {
+        List<DailyTimeSheet> entries = new ArrayList<>(rows.size());
+        for (DailyTimesheetRequestDto dto : rows) {
             Project project = null;
 
             if (dto.getProjectCode() != null) {
-                ProjectEmployeeId peid = new ProjectEmployeeId(dto.getProjectCode(), dto.getEmployeeCode());
-                if (!projectEmployeeRepository.existsById(peid)) {
+                ProjectEmployee assignment = assignments.get(
+                        new ProjectEmployeeId(dto.getProjectCode(), dto.getEmployeeCode()));
+                if (assignment == null) {
                     throw new TimeSheetException(
                             NOT_FOUND_ERROR,
                             String.format(ErrorMessage.ASSIGNMENT_NOT_FOUND, dto.getProjectCode(), dto.getEmployeeCode())
                     );
                 }
 
-                project = projectRepository.findById(dto.getProjectCode())
+                project = Optional.ofNullable(assignment.getProject())
                         .orElseThrow(() -> new TimeSheetException(NOT_FOUND_ERROR,
                                 String.format(ErrorMessage.PROJECT_NOT_FOUND, dto.getProjectCode())));
             }
 
-            Optional<DailyTimeSheet> existing = dailyTimeSheetRepository
-                    .findByEmployeeCodeAndTimesheetYearAndTimesheetMonthAndWorkDateAndEntryTypeAndProjectCode(
-                            dto.getEmployeeCode(),
-                            dto.getTimesheetYear(),
-                            dto.getTimesheetMonth(),
-                            dto.getWorkDate(),
-                            dto.getEntryType(),
-                            dto.getProjectCode()
-                    );
-
-            DailyTimeSheet daily;
-            if (existing.isPresent()) {
-                daily = existing.get();
-                // You can either update or skip. Here, we'll update:
-                daily.setHoursSpent(dto.getHoursSpent());
-                daily.setDescription(dto.getDescription());
-            } else {
-                daily = new DailyTimeSheet();
-                daily.setEmployeeCode(dto.getEmployeeCode());
-                daily.setTimesheetYear(dto.getTimesheetYear());
-                daily.setTimesheetMonth(dto.getTimesheetMonth());
-                daily.setWorkDate(dto.getWorkDate());
-                daily.setEntryType(dto.getEntryType());
-                daily.setHoursSpent(dto.getHoursSpent());
-                daily.setProjectCode(dto.getProjectCode());
-                daily.setProject(project);
-                daily.setDescription(dto.getDescription());
-                daily.setModifiedByManager(false);
-            }
-
-            dailyTimeSheetRepository.save(daily);
+            DailyTimeSheet daily = new DailyTimeSheet();
+            daily.setEmployeeCode(dto.getEmployeeCode());
+            daily.setTimesheetYear(dto.getTimesheetYear());
+            daily.setTimesheetMonth(dto.getTimesheetMonth());
+            daily.setWorkDate(dto.getWorkDate());
+            daily.setEntryType(dto.getEntryType());
+            daily.setHoursSpent(dto.getHoursSpent());
+            daily.setProjectCode(dto.getProjectCode());
+            daily.setProject(project);
+            daily.setDescription(dto.getDescription());
+            daily.setModifiedByManager(false);
+            entries.add(daily);
         }
+        return entries;
+    }
 
-        TimesheetSummaryDto summaryDto = new TimesheetSummaryDto();
-        summaryDto.setEmployeeCode(dtos.getEmployeeCode());
-        summaryDto.setTimesheetMonth(dtos.getTimesheetMonth());
-        summaryDto.setTimesheetYear(dtos.getTimesheetYear());
-        summaryDto.setWeekStart(dtos.getWeekStart());
-
-        saveTimesheetSummary(summaryDto);
+    // Loads every active assignment (with its project) for the employees in the request in one query
+    private Map<ProjectEmployeeId, ProjectEmployee> loadActiveAssignments(List<DailyTimesheetRequestDto> rows) {
+        Set<String> employeeCodes = rows.stream()
+                .filter(row -> row.getProjectCode() != null)
+                .map(DailyTimesheetRequestDto::getEmployeeCode)
+                .collect(Collectors.toSet());
+        if (employeeCodes.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-        return MessageConstants.DAILY_TIMESHEET_SAVED;
+        return projectEmployeeRepository.findActiveWithProjectByEmployeeCodes(employeeCodes).stream()
+                .collect(Collectors.toMap(ProjectEmployee::getId, pe -> pe, (a, b) -> a));
     }
 
 
@@ -157,38 +203,53 @@ public class TimesheetServiceImpl implements TimesheetService{
                 dto.getWeekStart()
         );
 
-        TimesheetSummary summary = timesheetSummaryRepository.findById(id)
-                .orElseThrow(() -> new TimeSheetException(
-                        NOT_FOUND_ERROR,
-                        String.format(ErrorMessage.TIMESHEET_SUMMARY_NOT_FOUND,
-                                dto.getEmployeeCode(), dto.getWeekStart()))
-                );
-
-        if (summary.getStatus() != TimeSheetStatus.DRAFT) {
-            throw new TimeSheetException(
-                    NOT_FOUND_ERROR,
-                    ErrorMessage.STATUS_NOT_FOUND);
+        // Only a draft week moves to submitted; a concurrent save or approval makes this a no-op
+        int updated = timesheetSummaryRepository.submitIfDraft(id, new Timestamp(System.currentTimeMillis()));
+        if (updated == 0) {
+            throw statusConflict(id, TimeSheetStatus.DRAFT);
         }
-        summary.setStatus(TimeSheetStatus.SUBMITTED);
-        summary.setSubmittedDate(new Timestamp(System.currentTimeMillis()));
-
-        TimesheetSummary submitted = timesheetSummaryRepository.save(summary);
+        eventPublisher.publishEvent(TimesheetChangedEvent.of(id));
 
-        LocalDate week = submitted.getId().getWeekStart().toLocalDate();
+        LocalDate week = id.getWeekStart().toLocalDate();
         String formattedWeekStart = week.format(WEEK_DATE_FORMATTER);
 
         return String.format(
                 MessageConstants.SUBMITTED_TIMESHEET,
-                submitted.getId().getEmployeeCode(),
+                id.getEmployeeCode(),
                 formattedWeekStart,
-                submitted.getId().getTimesheetMonth(),
-                submitted.getId().getTimesheetYear()
+                id.getTimesheetMonth(),
+                id.getTimesheetYear()
         );
 
 
     }
 
 
+    // Submit every draft week of a month with a single conditional update
+    @Transactional
+    public MonthlySubmissionResponseDto submitMonth(MonthlyTimesheetSubmitDto dto) {
+        List<Date> submittedWeeks = new ArrayList<>(timesheetSummaryRepository.submitDraftWeeks(
+                dto.getEmployeeCode(),
+                dto.getTimesheetYear(),
+                dto.getTimesheetMonth()
+        ));
+        Collections.sort(submittedWeeks);
+        if (!submittedWeeks.isEmpty()) {
+            eventPublisher.publishEvent(TimesheetChangedEvent.of(submittedWeeks.stream()
+                    .map(week -> new TimesheetSummaryId(dto.getEmployeeCode(), dto.getTimesheetYear(),
+                            dto.getTimesheetMonth(), week))
+                    .toList()));
+        }
+
+        return new MonthlySubmissionResponseDto(
+                dto.getEmployeeCode(),
+                dto.getTimesheetYear(),
+                dto.getTimesheetMonth(),
+                submittedWeeks
+        );
+    }
+
+
     // Approve or reject timesheet weekly by manager
     @Transactional
     public String approveOrRejectWeekly(ManagerApprovalRequestDto dto) {
@@ -205,7 +266,10 @@ public class TimesheetServiceImpl implements TimesheetService{
                         String.format(ErrorMessage.TIMESHEET_SUMMARY_NOT_FOUND,
                                 dto.getEmployeeCode(), dto.getWeekStart()))
                 );
+        requireStatus(id, summary.getStatus(), TimeSheetStatus.SUBMITTED);
+        validateManagerEdits(dto);
 
+        double hoursDelta = 0;
         if (dto.getDailyTimeSheetRequests() != null && !dto.getDailyTimeSheetRequests().isEmpty()) {
             Date weekStart = dto.getWeekStart();
             Date weekEnd = Date.valueOf(weekStart.toLocalDate().plusDays(6));
@@ -214,72 +278,271 @@ public class TimesheetServiceImpl implements TimesheetService{
             List<DailyTimeSheet> existingSheets = dailyTimeSheetRepository
                     .findByEmployeeCodeAndWorkDateBetween(dto.getEmployeeCode(), weekStart, weekEnd);
 
-            for (DailyTimesheetRequestDto requestDto : dto.getDailyTimeSheetRequests()) {
-                EntryType entryType = requestDto.getEntryType();
-                boolean matched = false;
-
-                for (DailyTimeSheet sheet : existingSheets) {
-                    boolean dateMatch = sheet.getWorkDate().toLocalDate().isEqual(requestDto.getWorkDate().toLocalDate());
-                    boolean typeMatch = sheet.getEntryType() != null && sheet.getEntryType().name().equalsIgnoreCase(entryType.name());
-
-                    boolean projectMatch = entryType != EntryType.PROJECT || sheet.getProjectCode() != null && sheet.getProjectCode().trim()
-                            .equals(requestDto.getProjectCode().trim());
-
-                    if (dateMatch && typeMatch && projectMatch) {
-                        matched = true;
-
-                        boolean hoursChanged = !sheet.getHoursSpent().equals(requestDto.getHoursSpent());
-                        boolean descriptionChanged = requestDto.getDescription() != null &&
-                                !requestDto.getDescription().trim().equalsIgnoreCase(
-                                        sheet.getDescription() != null ? sheet.getDescription().trim() : "");
-
-                        if (hoursChanged || descriptionChanged) {
-                            if (hoursChanged) {
-                                sheet.setHoursSpent(requestDto.getHoursSpent());
-                            }
-                            if (descriptionChanged) {
-                                sheet.setDescription(requestDto.getDescription());
-                            }
-                            sheet.setModifiedByManager(true);
-                            dailyTimeSheetRepository.save(sheet);
-                        }
+            List<DailyTimeSheet> changedSheets = new ArrayList<>();
+            List<DailyTimeSheet> newSheets = new ArrayList<>();
+            Map<MonthlyHoursRollupId, Double> rollupDeltas = new HashMap<>();
+            hoursDelta = applyManagerEdits(dto, existingSheets, changedSheets, newSheets, rollupDeltas);
+            saveManagerEdits(changedSheets, newSheets, rollupDeltas);
+        }
+        // The decision only lands if the week is still submitted; otherwise the edits above roll back
+        int updated = timesheetSummaryRepository.decideIfSubmitted(
+                id,
+                dto.isApprove() ? TimeSheetStatus.APPROVED : TimeSheetStatus.CORRECTION_REQUIRED,
+                dto.getManagerCode(),
+                dto.getComment(),
+                hoursDelta
+        );
+        if (updated == 0) {
+            throw statusConflict(id, TimeSheetStatus.SUBMITTED);
+        }
+        eventPublisher.publishEvent(TimesheetChangedEvent.decided(List.of(id), approvers(List.of(dto))));
 
-                        break;
-                    }
+        return managerDecisionMessage(dto);
+    }
+
+    // Approves or rejects many weeks at once: two reads up front, a guarded decision per week, row edits flushed in batches.
+    // Items that fail validation or lose a race on their status are reported in the result; the rest are still saved.
+    @Transactional
+    public List<ManagerApprovalResultDto> approveOrRejectWeeklyBatch(List<ManagerApprovalRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> employeeCodes = requests.stream()
+                .map(ManagerApprovalRequestDto::getEmployeeCode)
+                .collect(Collectors.toSet());
+        // The list is not bean-validated, so items without a week are failed on their own below
+        Set<Date> weekStarts = requests.stream()
+                .map(ManagerApprovalRequestDto::getWeekStart)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<TimesheetSummaryId, TimesheetSummaryView> summaries = Collections.emptyMap();
+        Map<String, List<DailyTimeSheet>> sheetsByEmployee = Collections.emptyMap();
+        if (!weekStarts.isEmpty()) {
+            summaries = timesheetSummaryRepository
+                    .findByIdEmployeeCodeInAndIdWeekStartIn(employeeCodes, weekStarts, TimesheetSummaryView.class).stream()
+                    .collect(Collectors.toMap(TimesheetSummaryView::getId, summary -> summary));
+
+            LocalDate firstDay = Collections.min(weekStarts).toLocalDate();
+            LocalDate lastDay = Collections.max(weekStarts).toLocalDate().plusDays(6);
+            sheetsByEmployee = dailyTimeSheetRepository
+                    .findByEmployeeCodeInAndWorkDateBetween(employeeCodes, Date.valueOf(firstDay), Date.valueOf(lastDay))
+                    .stream()
+                    .collect(Collectors.groupingBy(DailyTimeSheet::getEmployeeCode));
+        }
+
+        List<ManagerApprovalResultDto> results = new ArrayList<>(requests.size());
+        List<DailyTimeSheet> changedSheets = new ArrayList<>();
+        List<DailyTimeSheet> newSheets = new ArrayList<>();
+        Map<MonthlyHoursRollupId, Double> rollupDeltas = new HashMap<>();
+        List<TimesheetSummaryId> decided = new ArrayList<>();
+
+        for (ManagerApprovalRequestDto dto : requests) {
+            TimesheetSummaryId id = new TimesheetSummaryId(
+                    dto.getEmployeeCode(),
+                    dto.getTimesheetYear(),
+                    dto.getTimesheetMonth(),
+                    dto.getWeekStart()
+            );
+            try {
+                if (dto.getWeekStart() == null) {
+                    throw new TimeSheetException(ErrorCode.VALIDATION_ERROR,
+                            String.format(ErrorMessage.WEEK_START_REQUIRED, dto.getEmployeeCode()));
+                }
+                TimesheetSummaryView summary = Optional.ofNullable(summaries.get(id))
+                        .orElseThrow(() -> new TimeSheetException(
+                                NOT_FOUND_ERROR,
+                                String.format(ErrorMessage.TIMESHEET_SUMMARY_NOT_FOUND,
+                                        dto.getEmployeeCode(), dto.getWeekStart())));
+                requireStatus(id, summary.getStatus(), TimeSheetStatus.SUBMITTED);
+                validateManagerEdits(dto);
+
+                // Claim the week with the guarded update before touching its rows: a week that moved on since it
+                // was read fails on its own, and none of its edits are applied
+                int updated = timesheetSummaryRepository.decideIfSubmitted(
+                        id,
+                        dto.isApprove() ? TimeSheetStatus.APPROVED : TimeSheetStatus.CORRECTION_REQUIRED,
+                        dto.getManagerCode(),
+                        dto.getComment(),
+                        0
+                );
+                if (updated == 0) {
+                    throw statusConflict(id, TimeSheetStatus.SUBMITTED);
                 }
 
-                if (!matched) {
-                    DailyTimeSheet newSheet = new DailyTimeSheet();
-                    newSheet.setEmployeeCode(dto.getEmployeeCode());
-                    newSheet.setWorkDate(requestDto.getWorkDate());
-                    newSheet.setEntryType(requestDto.getEntryType());
-                    if (requestDto.getEntryType() == EntryType.PROJECT) {
-                        newSheet.setProjectCode(requestDto.getProjectCode());
-                    }
-                    newSheet.setTimesheetMonth(requestDto.getTimesheetMonth());
-                    newSheet.setTimesheetYear(requestDto.getTimesheetYear());
-                    newSheet.setDescription(requestDto.getDescription());
-                    newSheet.setHoursSpent(requestDto.getHoursSpent());
-                    newSheet.setModifiedByManager(true);
-                    dailyTimeSheetRepository.save(newSheet);
+                LocalDate weekStart = dto.getWeekStart().toLocalDate();
+                List<DailyTimeSheet> weekSheets = sheetsByEmployee
+                        .getOrDefault(dto.getEmployeeCode(), Collections.emptyList()).stream()
+                        .filter(sheet -> !sheet.getWorkDate().toLocalDate().isBefore(weekStart)
+                                && !sheet.getWorkDate().toLocalDate().isAfter(weekStart.plusDays(6)))
+                        .collect(Collectors.toList());
 
+                double hoursDelta = applyManagerEdits(dto, weekSheets, changedSheets, newSheets, rollupDeltas);
+                if (hoursDelta != 0) {
+                    timesheetSummaryRepository.addTotalHours(id, hoursDelta);
+                }
+                decided.add(id);
 
+                results.add(new ManagerApprovalResultDto(dto.getEmployeeCode(), dto.getWeekStart(), true,
+                        managerDecisionMessage(dto)));
+            } catch (TimeSheetException ex) {
+                results.add(new ManagerApprovalResultDto(dto.getEmployeeCode(), dto.getWeekStart(), false,
+                        ex.getMessage()));
+            }
+        }
+
+        saveManagerEdits(changedSheets, newSheets, rollupDeltas);
+        if (!decided.isEmpty()) {
+            eventPublisher.publishEvent(TimesheetChangedEvent.decided(decided, approvers(requests)));
+        }
+        return results;
+    }
+
+    private static Set<String> approvers(List<ManagerApprovalRequestDto> requests) {
+        return requests.stream()
+                .map(ManagerApprovalRequestDto::getManagerCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void requireStatus(TimesheetSummaryId id, TimeSheetStatus current, TimeSheetStatus expected) {
+        if (current != expected) {
+            throw new TimeSheetException(ErrorCode.STATUS_CONFLICT_ERROR,
+                    String.format(ErrorMessage.TIMESHEET_STATUS_CONFLICT, id.getEmployeeCode(),
+                            id.getWeekStart(), current, expected));
+        }
+    }
+
+    // A guarded update touched no row: report whether the week is missing or moved on to another status
+    private TimeSheetException statusConflict(TimesheetSummaryId id, TimeSheetStatus expected) {
+        return timesheetSummaryRepository.findById(id)
+                .map(current -> new TimeSheetException(ErrorCode.STATUS_CONFLICT_ERROR,
+                        String.format(ErrorMessage.TIMESHEET_STATUS_CONFLICT, id.getEmployeeCode(),
+                                id.getWeekStart(), current.getStatus(), expected)))
+                .orElseGet(() -> new TimeSheetException(NOT_FOUND_ERROR,
+                        String.format(ErrorMessage.TIMESHEET_SUMMARY_NOT_FOUND, id.getEmployeeCode(), id.getWeekStart())));
+    }
+
+    // Rejects edits that could not be applied, before anything is changed
+    private void validateManagerEdits(ManagerApprovalRequestDto dto) {
+        if (dto.getDailyTimeSheetRequests() == null) {
+            return;
+        }
+        for (DailyTimesheetRequestDto requestDto : dto.getDailyTimeSheetRequests()) {
+            boolean missingProject = requestDto.getEntryType() == EntryType.PROJECT && requestDto.getProjectCode() == null;
+            if (requestDto.getWorkDate() == null || requestDto.getEntryType() == null
+                    || requestDto.getHoursSpent() == null || missingProject) {
+                throw new TimeSheetException(ErrorCode.VALIDATION_ERROR,
+                        String.format(ErrorMessage.INVALID_MANAGER_EDIT, dto.getEmployeeCode(), requestDto.getWorkDate()));
+            }
+        }
+    }
+
+    // Applies the manager's row edits to the week's rows and returns the resulting change in hours.
+    // Hour changes to existing rows are also collected per rollup key; new rows reach the rollup through the upsert.
+    private double applyManagerEdits(ManagerApprovalRequestDto dto, List<DailyTimeSheet> existingSheets,
+                                     List<DailyTimeSheet> changedSheets, List<DailyTimeSheet> newSheets,
+                                     Map<MonthlyHoursRollupId, Double> rollupDeltas) {
+        double hoursDelta = 0;
+        if (dto.getDailyTimeSheetRequests() == null) {
+            return hoursDelta;
+        }
+
+        // Index the week once; the first row per key wins, as the old linear scan did
+        Map<EntryKey, DailyTimeSheet> sheetsByKey = new HashMap<>(existingSheets.size() * 2);
+        for (DailyTimeSheet sheet : existingSheets) {
+            if (sheet.getEntryType() != null) {
+                sheetsByKey.putIfAbsent(EntryKey.of(sheet.getWorkDate(), sheet.getEntryType(), sheet.getProjectCode()), sheet);
+            }
+        }
+
+        for (DailyTimesheetRequestDto requestDto : dto.getDailyTimeSheetRequests()) {
+            EntryKey key = EntryKey.of(requestDto.getWorkDate(), requestDto.getEntryType(), requestDto.getProjectCode());
+            DailyTimeSheet sheet = sheetsByKey.get(key);
+
+            if (sheet != null) {
+                boolean hoursChanged = !sheet.getHoursSpent().equals(requestDto.getHoursSpent());
+                boolean descriptionChanged = requestDto.getDescription() != null &&
+                        !requestDto.getDescription().trim().equalsIgnoreCase(
+                                sheet.getDescription() != null ? sheet.getDescription().trim() : "");
+
+                if (hoursChanged || descriptionChanged) {
+                    if (hoursChanged) {
+                        double change = requestDto.getHoursSpent() - sheet.getHoursSpent();
+                        hoursDelta += change;
+                        sheet.setHoursSpent(requestDto.getHoursSpent());
+                        // Rows created earlier in this request are still counted by the upsert at their final value
+                        if (sheet.getId() != null) {
+                            rollupDeltas.merge(rollupKey(sheet), change, Double::sum);
+                        }
+                    }
+                    if (descriptionChanged) {
+                        sheet.setDescription(requestDto.getDescription());
+                    }
+                    sheet.setModifiedByManager(true);
+                    // Rows created earlier in this request are already queued for insert
+                    if (sheet.getId() != null) {
+                        changedSheets.add(sheet);
+                    }
                 }
+                continue;
+            }
+
+            DailyTimeSheet newSheet = new DailyTimeSheet();
+            newSheet.setEmployeeCode(dto.getEmployeeCode());
+            newSheet.setWorkDate(requestDto.getWorkDate());
+            newSheet.setEntryType(requestDto.getEntryType());
+            if (requestDto.getEntryType() == EntryType.PROJECT) {
+                newSheet.setProjectCode(requestDto.getProjectCode());
             }
+            newSheet.setTimesheetMonth(requestDto.getTimesheetMonth());
+            newSheet.setTimesheetYear(requestDto.getTimesheetYear());
+            newSheet.setDescription(requestDto.getDescription());
+            newSheet.setHoursSpent(requestDto.getHoursSpent());
+            newSheet.setModifiedByManager(true);
+            newSheets.add(newSheet);
+            sheetsByKey.put(key, newSheet);
+            hoursDelta += requestDto.getHoursSpent();
         }
-        //  Recalculate totalHours from request DTOs
-        double totalHours = dto.getDailyTimeSheetRequests().stream()
-                .mapToDouble(req -> req.getHoursSpent() != null ? req.getHoursSpent() : 0.0)
-                .sum();
-        summary.setTotalHours(totalHours);
+        return hoursDelta;
+    }
 
-        summary.setStatus(dto.isApprove() ? TimeSheetStatus.APPROVED : TimeSheetStatus.CORRECTION_REQUIRED);
-        summary.setManagerComment(dto.getComment());
-        summary.setApprovedBy(dto.getManagerCode());
-        timesheetSummaryRepository.save(summary);
+    // Identity of a row within one employee's week; the project only counts for project entries
+    private record EntryKey(long epochDay, EntryType entryType, String projectCode) {
 
-        LocalDate week = summary.getId().getWeekStart().toLocalDate();
-        String formattedWeekStart = week.format(WEEK_DATE_FORMATTER);
+        static EntryKey of(Date workDate, EntryType entryType, String projectCode) {
+            String project = entryType == EntryType.PROJECT && projectCode != null ? projectCode.trim() : null;
+            return new EntryKey(workDate.toLocalDate().toEpochDay(), entryType, project);
+        }
+    }
+
+    // Changed rows go out as batched JDBC updates; new rows through the bulk upsert (identity ids can't be batched)
+    private void saveManagerEdits(List<DailyTimeSheet> changedSheets, List<DailyTimeSheet> newSheets,
+                                  Map<MonthlyHoursRollupId, Double> rollupDeltas) {
+        if (!changedSheets.isEmpty()) {
+            dailyTimeSheetRepository.saveAll(changedSheets);
+        }
+        if (!rollupDeltas.isEmpty()) {
+            monthlyHoursRollupRepository.lockForDeltas();
+            rollupDeltas.forEach((key, change) -> monthlyHoursRollupRepository.addHours(key, change, 0));
+        }
+        if (!newSheets.isEmpty()) {
+            dailyTimeSheetRepository.upsertAll(newSheets);
+        }
+    }
+
+    private static MonthlyHoursRollupId rollupKey(DailyTimeSheet sheet) {
+        return new MonthlyHoursRollupId(
+                sheet.getProjectCode() != null ? sheet.getProjectCode() : "",
+                sheet.getEmployeeCode(),
+                sheet.getTimesheetYear(),
+                sheet.getTimesheetMonth(),
+                sheet.getEntryType());
+    }
+
+    private String managerDecisionMessage(ManagerApprovalRequestDto dto) {
+        String formattedWeekStart = dto.getWeekStart().toLocalDate().format(WEEK_DATE_FORMATTER);
 
         return dto.isApprove()
                 ? String.format(MessageConstants.TIMESHEET_APPROVED_BY_MANAGER, dto.getEmployeeCode(), formattedWeekStart, dto.getManagerCode())
@@ -291,107 +554,102 @@ public class TimesheetServiceImpl implements TimesheetService{
     //Employee Dashboard
 
     // Get daily entries for employee for a given week
+    // One joined query returning projections; nothing is loaded as a managed entity
+    @Transactional(readOnly = true)
     public DailyTimesheetResponseWithStatus getDailyEntries(String employeeCode, Date weekStart) {
         Date weekEnd = Date.valueOf(weekStart.toLocalDate().plusDays(6));
 
-        TimesheetSummary summary = timesheetSummaryRepository
-                .findByIdEmployeeCodeAndIdWeekStart(employeeCode, weekStart)
-                .orElseThrow(() -> new TimeSheetException(
-                        NOT_FOUND_ERROR,
-                        String.format(ErrorMessage.TIMESHEET_SUMMARY_NOT_FOUND, employeeCode, weekStart)
-                ));
+        List<DailyEntryRowView> rows = timesheetSummaryRepository.findWeekEntryRows(employeeCode, weekStart, weekEnd);
+        if (rows.isEmpty()) {
+            throw new TimeSheetException(
+                    NOT_FOUND_ERROR,
+                    String.format(ErrorMessage.TIMESHEET_SUMMARY_NOT_FOUND, employeeCode, weekStart));
+        }
+        DailyEntryRowView week = rows.get(0);
 
-        List<DailyTimeSheetResponseDto> dailyTimeSheetResponseDtos = dailyTimeSheetRepository
-                .findByEmployeeCodeAndWorkDateBetween(employeeCode, weekStart, weekEnd)
-                .stream()
-                .map(d -> {
+        List<DailyTimeSheetResponseDto> dailyTimeSheetResponseDtos = rows.stream()
+                .filter(row -> row.workDate() != null)
+                .map(row -> {
                     DailyTimeSheetResponseDto dto = new DailyTimeSheetResponseDto();
-                    dto.setEmployeeCode(d.getEmployeeCode());
-                    dto.setTimesheetYear(d.getTimesheetYear());
-                    dto.setTimesheetMonth(d.getTimesheetMonth());
-                    dto.setWorkDate(d.getWorkDate());
-                    dto.setEntryType(d.getEntryType());
-                    dto.setProjectCode(d.getProjectCode());
-                    dto.setDescription(d.getDescription());
-                    dto.setHoursSpent(d.getHoursSpent());
-                    dto.setModifiedByManager(d.getModifiedByManager());
-                    dto.setStatus(summary.getStatus());
+                    dto.setEmployeeCode(row.employeeCode());
+                    dto.setTimesheetYear(row.timesheetYear());
+                    dto.setTimesheetMonth(row.timesheetMonth());
+                    dto.setWorkDate(row.workDate());
+                    dto.setEntryType(row.entryType());
+                    dto.setProjectCode(row.projectCode());
+                    dto.setDescription(row.description());
+                    dto.setHoursSpent(row.hoursSpent());
+                    dto.setModifiedByManager(row.modifiedByManager());
+                    dto.setStatus(row.status());
                     return dto;
                 })
                 .collect(Collectors.toList());
 
         DailyTimesheetResponseWithStatus dailyTimeSheetResponseWithStatus = new DailyTimesheetResponseWithStatus();
         dailyTimeSheetResponseWithStatus.setDailyTimeSheetResponseDtos(dailyTimeSheetResponseDtos);
-        dailyTimeSheetResponseWithStatus.setStatus(summary.getStatus());
-        dailyTimeSheetResponseWithStatus.setManagerComment(summary.getManagerComment());
+        dailyTimeSheetResponseWithStatus.setStatus(week.status());
+        dailyTimeSheetResponseWithStatus.setManagerComment(week.managerComment());
         return dailyTimeSheetResponseWithStatus;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionView getWeekVersion(String employeeCode, Date weekStart) {
+        Date weekEnd = Date.valueOf(weekStart.toLocalDate().plusDays(6));
+        return timesheetSummaryRepository.findWeekVersion(employeeCode, weekStart, weekEnd);
+    }
 
 
 
-    @Transactional
-    public void saveTimesheetSummary(TimesheetSummaryDto dto) {
-        Date weekStart = dto.getWeekStart();
-        Date weekEnd = Date.valueOf(weekStart.toLocalDate().plusDays(6));
-
-        List<DailyTimeSheet> entries = dailyTimeSheetRepository
-                .findByEmployeeCodeAndWorkDateBetween(dto.getEmployeeCode(), weekStart, weekEnd);
 
-        double total = entries.stream().mapToDouble(DailyTimeSheet::getHoursSpent).sum();
+    @Transactional
+    public void saveTimesheetSummary(TimesheetSummaryDto dto, double hoursDelta) {
+        TimesheetSummaryId id = new TimesheetSummaryId(
+                dto.getEmployeeCode(), dto.getTimesheetYear(), dto.getTimesheetMonth(), dto.getWeekStart());
 
-        TimesheetSummaryId summaryId = new TimesheetSummaryId(
+        // Creates the week's draft on first save; afterwards only shifts the total by what changed.
+        // A submitted or approved week is not reopened: the save fails and its daily rows roll back.
+        int updated = timesheetSummaryRepository.addHoursAndResetToDraft(
                 dto.getEmployeeCode(),
                 dto.getTimesheetYear(),
                 dto.getTimesheetMonth(),
-                dto.getWeekStart()
+                dto.getWeekStart(),
+                hoursDelta
         );
-
-        TimesheetSummary summary = new TimesheetSummary();
-        summary.setId(summaryId);
-        summary.setTotalHours(total);
-        summary.setStatus(TimeSheetStatus.DRAFT);
-        summary.setSubmittedDate(new Timestamp(System.currentTimeMillis()));
-
-        timesheetSummaryRepository.save(summary);
+        if (updated == 0) {
+            throw statusConflict(id, TimeSheetStatus.DRAFT);
+        }
+        eventPublisher.publishEvent(TimesheetChangedEvent.of(id));
     }
 
     @Override
     @Transactional
-    public String approveAllUnderManagerForWeek(ManagerApprovalRequestDto approvalRequest) throws TimeSheetException {
+    public int approveAllUnderManagerForWeek(ManagerApprovalRequestDto approvalRequest) throws TimeSheetException {
         // 1. Get all employees under this manager
-        ResponseEntity<List<UserIdentityDto>> response = identityServiceClient
-                .getEmployeesUnderManager(approvalRequest.getManagerCode());
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new TimeSheetException(ErrorCode.FAILED_TO_FETCH_DETAILS, ErrorMessage.USERID_EXTRACTION_FAILED);
-        } else {
-            response.getBody();
-        }
-
-        List<String> employeeCodes = response.getBody().stream()
+        List<String> employeeCodes = employeeDirectoryService
+                .getEmployeesUnderManager(approvalRequest.getManagerCode()).stream()
                 .map(UserIdentityDto::getEmployeeCode)
                 .toList();
 
-        // 2. Find all timesheet summaries for these employees for the specified week
-        List<TimesheetSummary> summaries = timesheetSummaryRepository
-                .findByIdEmployeeCodeInAndIdWeekStartAndIdTimesheetYearAndIdTimesheetMonth(
-                        employeeCodes,
-                        approvalRequest.getWeekStart(),
-                        approvalRequest.getTimesheetYear(),
-                        approvalRequest.getTimesheetMonth()
-                );
-
-        // 3. Approve each timesheet
-        summaries.forEach(summary -> {
-            summary.setStatus(TimeSheetStatus.APPROVED);
-            summary.setApprovedBy(approvalRequest.getManagerCode());
-            summary.setManagerComment(approvalRequest.getComment());
-        });
-
-        timesheetSummaryRepository.saveAll(summaries);
-
-        return MessageConstants.APPROVED_ALL_TIMESHEETS_FOR_WEEK;
+        // 2. Approve the submitted weeks in place, a chunk of employees per statement
+        int approved = 0;
+        for (int from = 0; from < employeeCodes.size(); from += APPROVE_ALL_CHUNK_SIZE) {
+            approved += timesheetSummaryRepository.approveSubmittedForWeek(
+                    employeeCodes.subList(from, Math.min(from + APPROVE_ALL_CHUNK_SIZE, employeeCodes.size())),
+                    approvalRequest.getWeekStart(),
+                    approvalRequest.getTimesheetYear(),
+                    approvalRequest.getTimesheetMonth(),
+                    approvalRequest.getManagerCode(),
+                    approvalRequest.getComment()
+            );
+        }
+        if (approved > 0) {
+            eventPublisher.publishEvent(TimesheetChangedEvent.decided(employeeCodes.stream()
+                    .map(code -> new TimesheetSummaryId(code, approvalRequest.getTimesheetYear(),
+                            approvalRequest.getTimesheetMonth(), approvalRequest.getWeekStart()))
+                    .toList(), approvers(List.of(approvalRequest))));
+        }
+        return approved;
     }
 
 
@@ -409,6 +667,7 @@ public class TimesheetServiceImpl implements TimesheetService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TimeSheetStatus getWeeklyStatus(String employeeCode, Date weekStart) {
 
         TimesheetSummary summary = timesheetSummaryRepository
@@ -421,38 +680,28 @@ public class TimesheetServiceImpl implements TimesheetService{
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TimesheetMatrixRowResponseDto> getEmployeeTimesheet(String employeeCode, Integer year, Integer month) {
-        List<DailyTimeSheet> entries = dailyTimeSheetRepository
-                .findByEmployeeCodeAndTimesheetYearAndTimesheetMonth(employeeCode, year, month);
+        // Hours are summed per (row, week) in the database; only the pivot happens here
+        List<TimesheetMatrixCellView> cells = dailyTimeSheetRepository
+                .findMonthlyMatrixCells(employeeCode, year, month);
 
         Map<String, Map<String, Double>> matrix = new LinkedHashMap<>();
+        Map<Date, String> weekLabels = new HashMap<>();
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-
-        for (DailyTimeSheet entry : entries) {
-            LocalDate workDate = entry.getWorkDate().toLocalDate();
-
-            LocalDate startOfWeek = workDate.with(DayOfWeek.MONDAY);
-            LocalDate endOfWeek = workDate.with(DayOfWeek.SUNDAY);
-            String weekLabel = formatter.format(startOfWeek) + " - " + formatter.format(endOfWeek);
-
-            String rowKey = entry.getEntryType() == EntryType.PROJECT
-                    ? getProjectName(entry.getProjectCode())
-                    : entry.getEntryType().name();
-
-            matrix.computeIfAbsent(rowKey, k -> new LinkedHashMap<>());
-            Map<String, Double> weekMap = matrix.get(rowKey);
-            weekMap.put(weekLabel, weekMap.getOrDefault(weekLabel, 0.0) + entry.getHoursSpent());
+        for (TimesheetMatrixCellView cell : cells) {
+            String weekLabel = weekLabels.computeIfAbsent(cell.getWeekStart(), this::matrixWeekLabel);
+            matrix.computeIfAbsent(cell.getRowKey(), k -> new LinkedHashMap<>())
+                    .merge(weekLabel, cell.getHours(), Double::sum);
         }
 
         return matrix.entrySet().stream()
                 .map(entry -> new TimesheetMatrixRowResponseDto(entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
     }
-    public String getProjectName(String projectCode) {
-        Optional<Project> project = projectRepository.findById(projectCode);
-        return project.map(Project::getTitle) // assuming getName() returns the project name
-                .orElse("Unknown Project"); // fallback if project not found
+    private String matrixWeekLabel(Date weekStart) {
+        LocalDate startOfWeek = weekStart.toLocalDate();
+        return MATRIX_DATE_FORMATTER.format(startOfWeek) + " - " + MATRIX_DATE_FORMATTER.format(startOfWeek.plusDays(6));
     }
 
 
@@ -468,7 +717,7 @@ public class TimesheetServiceImpl implements TimesheetService{
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public PagedResponse<ManagerApprovalRequestDto> getEmployeesTimesheetUnderManager(
             String managerCode,
             int year,
@@ -476,135 +725,55 @@ public class TimesheetServiceImpl implements TimesheetService{
             int offset,
             int limit,
             List<FilterRequest> filters,
-            List<SortRequest> sorts) {
-
-        if (offset < 0){
-            offset = 0;
-        }
-        if (limit <= 0){
-            limit = 10;
-        }
-        int page = offset / limit;
-
-        List<Specification<TimesheetSummary>> extraSpecs = new ArrayList<>();
-
-        if (filters != null) {
-            for (Iterator<FilterRequest> it = filters.iterator(); it.hasNext(); ) {
-                FilterRequest f = it.next();
-                // In getEmployeesTimesheetUnderManager and getEmployeesTimesheet methods:
-                switch (f.getField()) {
-                    case "year", TIMESHEET_YEAR, ID_TIMESHEET_YEAR -> {
-                        extraSpecs.add((root, q, cb) ->
-                                cb.equal(root.get("id").get(TIMESHEET_YEAR),
-                                        Integer.valueOf(f.getValue())));
-                        it.remove();
-                    }
-                    case "month", TIMESHEET_MONTH, ID_TIMESHEET_MONTH -> {
-                        extraSpecs.add((root, q, cb) ->
-                                cb.equal(root.get("id").get(TIMESHEET_MONTH),
-                                        Integer.valueOf(f.getValue())));
-                        it.remove();
-                    }
-                    case EMPLOYEE_CODE, ID_EMPLOYEE_CODE -> {
-                        extraSpecs.add((root, q, cb) ->
-                                cb.equal(root.get("id").get(EMPLOYEE_CODE),
-                                        f.getValue()));
-                        it.remove();
-                    }
-                    case WEEK_START, ID_WEEK_START -> {
-                        extraSpecs.add((root, q, cb) ->
-                                cb.equal(root.get("id").get(WEEK_START),
-                                        java.sql.Date.valueOf(f.getValue())));
-                        it.remove();
-                    }
-                }
-            }
-        }
+            List<SortRequest> sorts,
+            boolean withTotal) {
 
-        // Get employees under manager
-        List<String> employeeCodes = Optional.of(
-                        identityServiceClient.getEmployeesUnderManager(managerCode).getBody())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(UserIdentityDto::getEmployeeCode)
-                .toList();
+        Slice<TimesheetSummaryView> summaries =
+                pageDirectorySummaries(managerCode, year, month, offset, limit, filters, sorts, withTotal);
 
-        if (employeeCodes.isEmpty()) {
-            return new PagedResponse<>(List.of(), page, limit, 0);
-        }
-
-        // Calculate paged employees
-        int fromIndex = Math.min(offset, employeeCodes.size());
-        int toIndex = Math.min(fromIndex + limit, employeeCodes.size());
-        List<String> pagedEmployeeCodes = employeeCodes.subList(fromIndex, toIndex);
-
-        if (pagedEmployeeCodes.isEmpty()) {
-            return new PagedResponse<>(List.of(), page, limit, employeeCodes.size());
-        }
-
-        // Final spec for paged employees
-        Specification<TimesheetSummary> yearMonthSpec = (root, q, cb) -> cb.and(
-                cb.equal(root.get("id").get(TIMESHEET_YEAR), year),
-                cb.equal(root.get("id").get(TIMESHEET_MONTH), month)
-        );
-
-        Specification<TimesheetSummary> employeeSpec = (root, q, cb) ->
-                root.get("id").get(EMPLOYEE_CODE).in(pagedEmployeeCodes);
-
-        Specification<TimesheetSummary> dynamicSpec =
-                new FilterSpecificationBuilder<TimesheetSummary>().build(filters);
-
-        Specification<TimesheetSummary> finalSpec = Specification
-                .where(yearMonthSpec)
-                .and(employeeSpec)
-                .and(dynamicSpec);
-
-        for (Specification<TimesheetSummary> sp : extraSpecs) {
-            finalSpec = finalSpec.and(sp);
-        }
-
-        List<TimesheetSummary> summaries =
-                timesheetSummaryRepository.findAll(finalSpec, Sort.by(ID_EMPLOYEE_CODE, ID_WEEK_START));
-
-        if (summaries.isEmpty()) {
-            throw new TimeSheetException(
-                    NOT_FOUND_ERROR,
-                    ErrorMessage.NO_TIMESHEET_SUMMARIES_FOUND
-            );
-        }
-
-        List<ManagerApprovalRequestDto> content = summaries.stream()
+        List<ManagerApprovalRequestDto> content = summaries.getContent().stream()
                 .map(s -> {
-                    ManagerApprovalRequestDto dto = new ManagerApprovalRequestDto();
-                    dto.setEmployeeCode(s.getId().getEmployeeCode());
-                    dto.setTimesheetYear(s.getId().getTimesheetYear());
-                    dto.setTimesheetMonth(s.getId().getTimesheetMonth());
-                    dto.setWeekStart(s.getId().getWeekStart());
-                    dto.setHours(s.getTotalHours());
+                    ManagerApprovalRequestDto dto = toApprovalDto(s);
                     dto.setManagerCode(managerCode);
-                    dto.setApprove(s.getStatus() == TimeSheetStatus.APPROVED);
                     return dto;
                 })
                 .toList();
 
-        // totalElements = employeeCodes.size()
-        return new PagedResponse<>(
-                content,
-                page,
-                limit,
-                employeeCodes.size()
-        );
+        return PagedResponse.of(summaries, content);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public PagedResponse<ManagerApprovalRequestDto> getEmployeesTimesheet(
             int year,
             int month,
             int offset,
             int limit,
             List<FilterRequest> filters,
-            List<SortRequest> sorts) {
+            List<SortRequest> sorts,
+            boolean withTotal) {
+
+        Slice<TimesheetSummaryView> summaries =
+                pageDirectorySummaries(null, year, month, offset, limit, filters, sorts, withTotal);
+
+        List<ManagerApprovalRequestDto> content = summaries.getContent().stream()
+                .map(this::toApprovalDto)
+                .toList();
+
+        return PagedResponse.of(summaries, content);
+    }
+
+    // Filters, sorts, pages and (when withTotal) counts the month's summaries in the database; employees are scoped through the
+    // local employee directory (to one manager's reports when managerCode is set) instead of the identity service
+    private Slice<TimesheetSummaryView> pageDirectorySummaries(
+            String managerCode,
+            int year,
+            int month,
+            int offset,
+            int limit,
+            List<FilterRequest> filters,
+            List<SortRequest> sorts,
+            boolean withTotal) {
 
         if (offset < 0){
             offset = 0;
@@ -612,7 +781,7 @@ public class TimesheetServiceImpl implements TimesheetService{
         if (limit <= 0){
             limit = 10;
         }
-        int page = offset / limit;
+        Pageable pageable = PageRequest.of(offset / limit, limit, summarySort(sorts));
 
         List<Specification<TimesheetSummary>> extraSpecs = new ArrayList<>();
 
@@ -648,46 +817,42 @@ public class TimesheetServiceImpl implements TimesheetService{
             }
         }
 
-        List<String> employeeCodes = Optional.ofNullable(identityServiceClient.getAllUsersList().getBody())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(m -> m.get("employeeCode"))
-                .toList();
-
-        if (employeeCodes.isEmpty()) {
-            return new PagedResponse<>(List.of(), page, limit, 0);
-        }
-
-        int fromIndex = Math.min(offset, employeeCodes.size());
-        int toIndex = Math.min(fromIndex + limit, employeeCodes.size());
-        List<String> pagedEmployeeCodes = employeeCodes.subList(fromIndex, toIndex);
-
-        if (pagedEmployeeCodes.isEmpty()) {
-            return new PagedResponse<>(List.of(), page, limit, employeeCodes.size());
-        }
-
         Specification<TimesheetSummary> yearMonthSpec = (root, q, cb) -> cb.and(
                 cb.equal(root.get("id").get(TIMESHEET_YEAR), year),
                 cb.equal(root.get("id").get(TIMESHEET_MONTH), month)
         );
 
-        Specification<TimesheetSummary> employeeSpec = (root, q, cb) ->
-                root.get("id").get(EMPLOYEE_CODE).in(pagedEmployeeCodes);
+        Specification<TimesheetSummary> directorySpec = (root, q, cb) -> {
+            Subquery<String> employees = q.subquery(String.class);
+            Root<EmployeeDirectory> directory = employees.from(EmployeeDirectory.class);
+            employees.select(directory.get(EMPLOYEE_CODE));
+            if (managerCode != null) {
+                employees.where(cb.equal(directory.get("managerCode"), managerCode));
+            }
+            return root.get("id").get(EMPLOYEE_CODE).in(employees);
+        };
 
         Specification<TimesheetSummary> dynamicSpec =
                 new FilterSpecificationBuilder<TimesheetSummary>().build(filters);
 
         Specification<TimesheetSummary> finalSpec = Specification
                 .where(yearMonthSpec)
-                .and(employeeSpec)
+                .and(directorySpec)
                 .and(dynamicSpec);
 
         for (Specification<TimesheetSummary> sp : extraSpecs) {
             finalSpec = finalSpec.and(sp);
         }
 
-        List<TimesheetSummary> summaries =
-                timesheetSummaryRepository.findAll(finalSpec, Sort.by(ID_EMPLOYEE_CODE, ID_WEEK_START));
+        Slice<TimesheetSummaryView> summaries = withTotal
+                ? timesheetSummaryRepository.findBy(finalSpec, query -> query
+                        .as(TimesheetSummaryView.class)
+                        .page(pageable))
+                : SliceUtil.toSlice(timesheetSummaryRepository.findBy(finalSpec, query -> query
+                        .as(TimesheetSummaryView.class)
+                        .sortBy(pageable.getSort())
+                        .limit(pageable.getPageSize())
+                        .scroll(SliceUtil.startAt(pageable))), pageable);
 
         if (summaries.isEmpty()) {
             throw new TimeSheetException(
@@ -695,28 +860,41 @@ public class TimesheetServiceImpl implements TimesheetService{
                     ErrorMessage.NO_TIMESHEET_SUMMARIES_FOUND
             );
         }
+        return summaries;
+    }
 
-        List<ManagerApprovalRequestDto> content = summaries.stream()
-                .map(s -> {
-                    ManagerApprovalRequestDto dto = new ManagerApprovalRequestDto();
-                    dto.setEmployeeCode(s.getId().getEmployeeCode());
-                    dto.setTimesheetYear(s.getId().getTimesheetYear());
-                    dto.setTimesheetMonth(s.getId().getTimesheetMonth());
-                    dto.setWeekStart(s.getId().getWeekStart());
-                    dto.setHours(s.getTotalHours());
-                    dto.setApprove(s.getStatus() == TimeSheetStatus.APPROVED);
-                    return dto;
+    // Key columns live on the embedded id, so "employeeCode" sorts by "id.employeeCode"
+    private Sort summarySort(List<SortRequest> sorts) {
+        Sort requested = SortUtil.getSort(sorts);
+        if (requested.isUnsorted()) {
+            return Sort.by(ID_EMPLOYEE_CODE, ID_WEEK_START);
+        }
+        return Sort.by(requested.stream()
+                .map(order -> switch (order.getProperty()) {
+                    case EMPLOYEE_CODE, WEEK_START, TIMESHEET_YEAR, TIMESHEET_MONTH ->
+                            order.withProperty("id." + order.getProperty());
+                    default -> order;
                 })
-                .toList();
-
-        return new PagedResponse<>(
-                content,
-                page,
-                limit,
-                employeeCodes.size()
-        );
+                .toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamEmployeesTimesheet(int year, int month, Consumer<ManagerApprovalRequestDto> sink) {
+        // Rows go to the sink one by one while the cursor is open; the caller decides where they are written
+        try (Stream<TimesheetSummaryView> rows = timesheetSummaryRepository.streamDirectoryMonth(year, month)) {
+            rows.map(this::toApprovalDto).forEach(sink);
+        }
+    }
 
-
-}
\ No newline at end of file
+    private ManagerApprovalRequestDto toApprovalDto(TimesheetSummaryView s) {
+        ManagerApprovalRequestDto dto = new ManagerApprovalRequestDto();
+        dto.setEmployeeCode(s.getId().getEmployeeCode());
+        dto.setTimesheetYear(s.getId().getTimesheetYear());
+        dto.setTimesheetMonth(s.getId().getTimesheetMonth());
+        dto.setWeekStart(s.getId().getWeekStart());
+        dto.setHours(s.getTotalHours());
+        dto.setApprove(s.getStatus() == TimeSheetStatus.APPROVED);
+        return dto;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.timesheet.utils;
+
+import com.example.timesheet.common.constants.ErrorCode;
+import com.example.timesheet.common.constants.ErrorMessage;
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mapping.PropertyPath;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Opaque "after" tokens for keyset pagination: the last row's sort key values, Base64 encoded JSON
+public class CursorUtil {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // Keyset paging needs a total order, so the id is always the last sort key
+    public static Sort withTiebreaker(Sort sort, String idProperty) {
+        if (sort.getOrderFor(idProperty) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(Sort.Direction.ASC, idProperty));
+    }
+
+    public static KeysetScrollPosition decode(String after, Sort sort, Class<?> entityType) {
+        if (after == null || after.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            Map<String, Object> raw = MAPPER.readValue(Base64.getUrlDecoder().decode(after), new TypeReference<>() { });
+            Set<String> sortKeys = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+            if (!raw.keySet().equals(sortKeys)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : raw.entrySet()) {
+                Class<?> type = PropertyPath.from(entry.getKey(), entityType).getLeafType();
+                keys.put(entry.getKey(), MAPPER.convertValue(entry.getValue(), type));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (Exception e) {
+            throw new TimeSheetException(ErrorCode.VALIDATION_ERROR, ErrorMessage.INVALID_CURSOR);
+        }
+    }
+
+    public static String nextCursor(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(position.getKeys()));
+        } catch (Exception e) {
+            throw new TimeSheetException(ErrorCode.INTERNAL_SERVER_ERROR, ErrorMessage.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.timesheet.utils;
+
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+// Count-free pages: scrolling reads limit + 1 rows to know whether another page exists, and skips the COUNT query
+public class SliceUtil {
+
+    public static <T> Slice<T> slice(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+                                     Pageable pageable, String... fetchPaths) {
+        Window<T> window = repository.findBy(spec, query -> query
+                .project(fetchPaths)
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(startAt(pageable)));
+        return toSlice(window, pageable);
+    }
+
+    // An offset position resumes after the given row, so the first row of the page sits at offset - 1
+    public static OffsetScrollPosition startAt(Pageable pageable) {
+        long offset = pageable.getOffset();
+        return offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1);
+    }
+
+    public static <T> Slice<T> toSlice(Window<T> window, Pageable pageable) {
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+}
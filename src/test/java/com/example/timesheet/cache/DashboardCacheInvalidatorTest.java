@@ -0,0 +1,174 @@
+package com.example.timesheet.cache;
+
+import com.example.timesheet.common.constants.CacheNames;
+import com.example.timesheet.dto.response.UserIdentityDto;
+import com.example.timesheet.events.ProjectChangedEvent;
+import com.example.timesheet.events.TimesheetChangedEvent;
+import com.example.timesheet.keys.TimesheetSummaryId;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
+import com.example.timesheet.repository.ProjectRepository;
+import com.example.timesheet.service.EmployeeDirectoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCacheInvalidatorTest {
+
+    private static final String EMP1 = "EMP1";
+    private static final String EMP2 = "EMP2";
+    private static final String RM1 = "RM1";
+    private static final String PM1 = "PM1";
+    private static final String PM2 = "PM2";
+    private static final String CCM1 = "CCM1";
+    private static final String PRJ1 = "PRJ1";
+    private static final Date WEEK = Date.valueOf("2025-05-05");
+    private static final String VERSION = "\"v1\"";
+
+    @Mock private EmployeeDirectoryService employeeDirectory;
+    @Mock private MonthlyHoursRollupRepository rollupRepo;
+    @Mock private ProjectRepository projectRepo;
+
+    private Cache cache;
+    private DashboardCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheNames.DASHBOARDS);
+        cache = cacheManager.getCache(CacheNames.DASHBOARDS);
+        invalidator = new DashboardCacheInvalidator(cacheManager, employeeDirectory, rollupRepo, projectRepo);
+
+        List.of(
+                DashboardKey.employee(EMP1, 2025, 5, VERSION),
+                DashboardKey.employee(EMP1, 2025, 4, VERSION),
+                DashboardKey.employee(EMP2, 2025, 5, VERSION),
+                DashboardKey.manager(RM1, 2025, 5, VERSION),
+                DashboardKey.manager(RM1, 2025, 4, VERSION),
+                DashboardKey.projectManager(PM1),
+                DashboardKey.projectManager(PM2),
+                DashboardKey.costCenterManager(CCM1, 2025, 5),
+                DashboardKey.costCenterManager(CCM1, null, null),
+                DashboardKey.costCenterManager(CCM1, 2025, 4)
+        ).forEach(key -> cache.put(key, key.toString()));
+    }
+
+    private UserIdentityDto employee(String code, String managerCode) {
+        UserIdentityDto user = new UserIdentityDto();
+        user.setEmployeeCode(code);
+        user.setManagerCode(managerCode);
+        return user;
+    }
+
+    private boolean cached(DashboardKey key) {
+        return cache.get(key) != null;
+    }
+
+    @Nested class TimesheetChanged {
+
+        @Test
+        void evictsOnlyDashboardsCoveringTheEmployeesMonthAndProjects() {
+            when(employeeDirectory.findEmployee(EMP1)).thenReturn(Optional.of(employee(EMP1, RM1)));
+            when(rollupRepo.findProjectCodesLoggedBy(Set.of(EMP1), 2025, 5)).thenReturn(List.of(PRJ1));
+            when(projectRepo.findManagerCodesByProjectCodeIn(List.of(PRJ1)))
+                    .thenReturn(List.<Object[]>of(new Object[]{PM1, CCM1}));
+
+            invalidator.onTimesheetChanged(TimesheetChangedEvent.of(new TimesheetSummaryId(EMP1, 2025, 5, WEEK)));
+
+            assertThat(cached(DashboardKey.employee(EMP1, 2025, 5, VERSION))).isFalse();
+            assertThat(cached(DashboardKey.manager(RM1, 2025, 5, VERSION))).isFalse();
+            assertThat(cached(DashboardKey.projectManager(PM1))).isFalse();
+            assertThat(cached(DashboardKey.costCenterManager(CCM1, 2025, 5))).isFalse();
+            assertThat(cached(DashboardKey.costCenterManager(CCM1, null, null))).isFalse();
+
+            assertThat(cached(DashboardKey.employee(EMP1, 2025, 4, VERSION))).isTrue();
+            assertThat(cached(DashboardKey.employee(EMP2, 2025, 5, VERSION))).isTrue();
+            assertThat(cached(DashboardKey.manager(RM1, 2025, 4, VERSION))).isTrue();
+            assertThat(cached(DashboardKey.projectManager(PM2))).isTrue();
+            assertThat(cached(DashboardKey.costCenterManager(CCM1, 2025, 4))).isTrue();
+        }
+
+        @Test
+        void evictsEveryVersionOfTheEmployeesMonth() {
+            DashboardKey older = DashboardKey.employee(EMP2, 2025, 5, "\"v0\"");
+            cache.put(older, older.toString());
+            when(employeeDirectory.findEmployee(EMP2)).thenReturn(Optional.empty());
+            when(rollupRepo.findProjectCodesLoggedBy(Set.of(EMP2), 2025, 5)).thenReturn(List.of());
+
+            invalidator.onTimesheetChanged(TimesheetChangedEvent.of(new TimesheetSummaryId(EMP2, 2025, 5, WEEK)));
+
+            assertThat(cached(older)).isFalse();
+            assertThat(cached(DashboardKey.employee(EMP2, 2025, 5, VERSION))).isFalse();
+            assertThat(cached(DashboardKey.employee(EMP1, 2025, 5, VERSION))).isTrue();
+        }
+
+        @Test
+        void skipsTheProjectLookup_whenNoProjectTimeWasLogged() {
+            when(employeeDirectory.findEmployee(EMP2)).thenReturn(Optional.empty());
+            when(rollupRepo.findProjectCodesLoggedBy(Set.of(EMP2), 2025, 5)).thenReturn(List.of());
+
+            invalidator.onTimesheetChanged(TimesheetChangedEvent.decided(
+                    List.of(new TimesheetSummaryId(EMP2, 2025, 5, WEEK)), Set.of(CCM1)));
+
+            assertThat(cached(DashboardKey.employee(EMP2, 2025, 5, VERSION))).isFalse();
+            // The approver's cost center dashboard counts the decision
+            assertThat(cached(DashboardKey.costCenterManager(CCM1, 2025, 5))).isFalse();
+            assertThat(cached(DashboardKey.projectManager(PM1))).isTrue();
+            verifyNoInteractions(projectRepo);
+        }
+
+        @Test
+        void clearsTheCache_whenTheScopeCannotBeResolved() {
+            when(employeeDirectory.findEmployee(EMP1)).thenReturn(Optional.empty());
+            when(rollupRepo.findProjectCodesLoggedBy(any(), anyInt(), anyInt()))
+                    .thenThrow(new IllegalStateException("connection refused"));
+
+            invalidator.onTimesheetChanged(TimesheetChangedEvent.of(new TimesheetSummaryId(EMP1, 2025, 5, WEEK)));
+
+            assertThat(cached(DashboardKey.projectManager(PM2))).isFalse();
+            assertThat(cached(DashboardKey.employee(EMP2, 2025, 5, VERSION))).isFalse();
+        }
+    }
+
+    @Nested class ProjectChanged {
+
+        @Test
+        void assignmentChange_evictsTheProjectsManagersForEveryPeriod() {
+            when(projectRepo.findManagerCodesByProjectCodeIn(List.of(PRJ1)))
+                    .thenReturn(List.<Object[]>of(new Object[]{PM1, CCM1}));
+
+            invalidator.onProjectChanged(ProjectChangedEvent.assignments(PRJ1));
+
+            assertThat(cached(DashboardKey.projectManager(PM1))).isFalse();
+            assertThat(cached(DashboardKey.costCenterManager(CCM1, 2025, 4))).isFalse();
+            assertThat(cached(DashboardKey.projectManager(PM2))).isTrue();
+            assertThat(cached(DashboardKey.manager(RM1, 2025, 5, VERSION))).isTrue();
+        }
+
+        @Test
+        void ownershipChange_evictsEveryPortfolioDashboard_butNotTimesheetDashboards() {
+            invalidator.onProjectChanged(ProjectChangedEvent.ownership(PRJ1));
+
+            assertThat(cached(DashboardKey.projectManager(PM2))).isFalse();
+            assertThat(cached(DashboardKey.costCenterManager(CCM1, null, null))).isFalse();
+            assertThat(cached(DashboardKey.employee(EMP1, 2025, 5, VERSION))).isTrue();
+            assertThat(cached(DashboardKey.manager(RM1, 2025, 5, VERSION))).isTrue();
+            verifyNoInteractions(projectRepo);
+        }
+    }
+}
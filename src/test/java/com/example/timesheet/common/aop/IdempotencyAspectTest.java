@@ -0,0 +1,112 @@
+package com.example.timesheet.common.aop;
+
+import com.example.timesheet.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyAspectTest {
+
+    private static final String HEADER = "retry-123";
+
+    @Mock private IdempotencyService idempotencyService;
+    @Mock private HttpServletRequest request;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private TransactionStatus transaction;
+    @Mock private ProceedingJoinPoint joinPoint;
+    @Mock private MethodSignature signature;
+
+    private IdempotencyAspect aspect;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        aspect = new IdempotencyAspect(idempotencyService, request, new ObjectMapper(), transactionManager);
+        when(request.getHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER)).thenReturn(HEADER);
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/tms/timesheets/daily");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"payload"});
+        when(idempotencyService.claim(anyString(), anyString(), anyString())).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+
+    @AfterEach
+    void clearCaller() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void callAs(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null));
+    }
+
+    @Test
+    void scopesTheKeyToTheCaller() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.ok("saved"));
+
+        callAs("alice");
+        aspect.replayOrProceed(joinPoint);
+        callAs("bob");
+        aspect.replayOrProceed(joinPoint);
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyService, times(2)).claim(keys.capture(), anyString(), anyString());
+        assertThat(keys.getAllValues()).doesNotHaveDuplicates().doesNotContain(HEADER);
+    }
+
+    @Test
+    void storesTheResponseInTheHandlersTransaction() throws Throwable {
+        callAs("alice");
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.accepted().body("queued"));
+
+        assertThat(aspect.replayOrProceed(joinPoint)).isEqualTo(ResponseEntity.accepted().body("queued"));
+
+        InOrder order = inOrder(idempotencyService, transactionManager, joinPoint);
+        order.verify(idempotencyService).claim(anyString(), anyString(), anyString());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(joinPoint).proceed();
+        order.verify(idempotencyService).complete(anyString(), eq(202), eq("\"queued\""));
+        order.verify(transactionManager).commit(transaction);
+        verify(idempotencyService, never()).release(anyString());
+    }
+
+    @Test
+    void rollsBackAndReleasesTheKey_whenTheHandlerFails() throws Throwable {
+        callAs("alice");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> aspect.replayOrProceed(joinPoint)).hasMessage("boom");
+
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager, never()).commit(any());
+        verify(idempotencyService, never()).complete(anyString(), anyInt(), anyString());
+        verify(idempotencyService).release(anyString());
+    }
+}
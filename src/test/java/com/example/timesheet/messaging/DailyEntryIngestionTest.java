@@ -0,0 +1,92 @@
+package com.example.timesheet.messaging;
+
+import com.example.timesheet.dto.request.DailyTimesheetDto;
+import com.example.timesheet.dto.request.DailyTimesheetRequestDto;
+import com.example.timesheet.enums.EntryType;
+import com.example.timesheet.service.TimesheetService;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(
+        classes = {KafkaIngestionConfig.class, DailyEntryPublisher.class, DailyEntryConsumer.class},
+        properties = {
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.consumer.auto-offset-reset=earliest",
+                "timesheet.ingestion.mode=async",
+                "timesheet.ingestion.topic=" + DailyEntryIngestionTest.TOPIC,
+                "timesheet.ingestion.group-id=timesheet-daily-entries-test",
+                "timesheet.ingestion.partitions=2",
+                "timesheet.ingestion.concurrency=1"
+        }
+)
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class})
+@EmbeddedKafka(partitions = 2, topics = DailyEntryIngestionTest.TOPIC)
+class DailyEntryIngestionTest {
+
+    static final String TOPIC = "timesheet.daily-entries.test";
+    private static final String EMP1 = "EMP1";
+    private static final Date MONDAY = Date.valueOf(LocalDate.of(2025, 5, 5));
+
+    @MockitoBean private TimesheetService timesheetService;
+    @Autowired private DailyEntryPublisher publisher;
+
+    private DailyTimesheetDto weeklyPayload(double hours) {
+        DailyTimesheetRequestDto row = new DailyTimesheetRequestDto();
+        row.setEmployeeCode(EMP1);
+        row.setTimesheetYear(2025);
+        row.setTimesheetMonth(5);
+        row.setWorkDate(MONDAY);
+        row.setEntryType(EntryType.PROJECT);
+        row.setProjectCode("P01");
+        row.setHoursSpent(hours);
+
+        DailyTimesheetDto dto = new DailyTimesheetDto();
+        dto.setDailyEntry(List.of(row));
+        dto.setEmployeeCode(EMP1);
+        dto.setTimesheetYear(2025);
+        dto.setTimesheetMonth(5);
+        dto.setWeekStart(MONDAY);
+        return dto;
+    }
+
+    @Test
+    void publishedEntries_areDrainedIntoTheTimesheetService() {
+        String trackingId = publisher.publish(weeklyPayload(6.0));
+
+        assertThat(trackingId).isNotBlank();
+        verify(timesheetService, timeout(30_000)).saveDailyEntries(argThat(batch -> batch.size() == 1
+                && EMP1.equals(batch.get(0).getEmployeeCode())
+                && MONDAY.toLocalDate().equals(batch.get(0).getWeekStart().toLocalDate())
+                && batch.get(0).getDailyEntry().get(0).getHoursSpent() == 6.0));
+    }
+
+    @Test
+    void invalidPayload_isRejectedBeforePublishing() {
+        DailyTimesheetDto dto = weeklyPayload(30.0);
+
+        assertThatThrownBy(() -> publisher.publish(dto))
+                .isInstanceOf(ConstraintViolationException.class);
+        verify(timesheetService, never()).validateDailyEntry(any());
+    }
+}
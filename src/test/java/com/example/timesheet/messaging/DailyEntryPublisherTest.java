@@ -0,0 +1,82 @@
+package com.example.timesheet.messaging;
+
+import com.example.timesheet.common.constants.ErrorCode;
+import com.example.timesheet.dto.request.DailyTimesheetDto;
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.service.TimesheetService;
+import jakarta.validation.Validator;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyEntryPublisherTest {
+
+    private static final String TOPIC = "timesheet.daily-entries";
+    private static final String EMP1 = "EMP1";
+
+    @Mock private KafkaTemplate<String, DailyEntryMessage> kafkaTemplate;
+    @Mock private TimesheetService timesheetService;
+    @Mock private Validator validator;
+    @InjectMocks private DailyEntryPublisher publisher;
+
+    private DailyTimesheetDto dto;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(publisher, "topic", TOPIC);
+        ReflectionTestUtils.setField(publisher, "sendTimeoutMs", 1_000L);
+        dto = new DailyTimesheetDto();
+        dto.setEmployeeCode(EMP1);
+        when(validator.validate(dto)).thenReturn(Set.of());
+    }
+
+    @Test
+    void returnsTrackingId_onceTheBrokerAcknowledges() {
+        @SuppressWarnings("unchecked")
+        SendResult<String, DailyEntryMessage> sent = mock(SendResult.class);
+        when(kafkaTemplate.send(eq(TOPIC), eq(EMP1), any())).thenReturn(CompletableFuture.completedFuture(sent));
+
+        assertThat(publisher.publish(dto)).isNotBlank();
+    }
+
+    @Test
+    void failsWithServiceUnavailable_whenTheSendFails() {
+        when(kafkaTemplate.send(eq(TOPIC), eq(EMP1), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker not available")));
+
+        assertThatThrownBy(() -> publisher.publish(dto))
+                .isInstanceOf(TimeSheetException.class)
+                .hasMessageContaining(EMP1)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.SERVICE_UNAVAILABLE_ERROR);
+    }
+
+    @Test
+    void failsWithServiceUnavailable_whenTheBrokerDoesNotAnswerInTime() {
+        when(kafkaTemplate.send(eq(TOPIC), eq(EMP1), any())).thenReturn(new CompletableFuture<>());
+        ReflectionTestUtils.setField(publisher, "sendTimeoutMs", 10L);
+
+        assertThatThrownBy(() -> publisher.publish(dto))
+                .isInstanceOf(TimeSheetException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.SERVICE_UNAVAILABLE_ERROR);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.timesheet.repository;
+
+import com.example.timesheet.models.EmployeeDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeDirectoryRepositoryCustomImplTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @InjectMocks private EmployeeDirectoryRepositoryCustomImpl repository;
+
+    private static EmployeeDirectory employee(String code) {
+        return EmployeeDirectory.builder().employeeCode(code).managerCode("MGR1").build();
+    }
+
+    @Test
+    void writesNothing_forAnEmptyBatch() {
+        assertThat(repository.upsertAll(List.of(), LocalDateTime.now())).isZero();
+        assertThat(repository.upsertAll(null, LocalDateTime.now())).isZero();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void splitsLargeSyncsIntoBatches_andBindsEachAsColumnArrays() throws Exception {
+        List<String[]> boundCodes = new ArrayList<>();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("varchar"), any())).thenAnswer(invocation -> {
+            Object[] values = invocation.getArgument(1);
+            // Only the employee code column holds values starting with "E"
+            if (values.length > 0 && values[0] instanceof String code && code.startsWith("E")) {
+                boundCodes.add((String[]) values);
+            }
+            return mock(Array.class);
+        });
+        when(ps.executeUpdate()).thenAnswer(invocation -> boundCodes.get(boundCodes.size() - 1).length);
+        when(jdbcTemplate.execute(anyString(), any(PreparedStatementCallback.class))).thenAnswer(invocation ->
+                invocation.<PreparedStatementCallback<Integer>>getArgument(1).doInPreparedStatement(ps));
+
+        List<EmployeeDirectory> employees = IntStream.range(0, 2500).mapToObj(i -> employee("E" + i)).toList();
+
+        assertThat(repository.upsertAll(employees, LocalDateTime.now())).isEqualTo(2500);
+        assertThat(boundCodes).extracting(codes -> codes.length).containsExactly(1000, 1000, 500);
+        assertThat(boundCodes.get(2)[0]).isEqualTo("E2000");
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.timesheet.scheduler;
+
+import com.example.timesheet.service.EmployeeDirectoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeDirectorySyncTest {
+
+    @Mock private EmployeeDirectoryService employeeDirectoryService;
+    @InjectMocks private EmployeeDirectorySync sync;
+
+    @Test
+    void keepsTheLastSyncedCopy_whenTheIdentityServiceFails() {
+        when(employeeDirectoryService.syncFromIdentityService()).thenThrow(new IllegalStateException("down"));
+
+        assertThatCode(sync::syncDirectory).doesNotThrowAnyException();
+        verify(employeeDirectoryService).syncFromIdentityService();
+    }
+}
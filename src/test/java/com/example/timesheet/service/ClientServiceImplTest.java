@@ -8,6 +8,8 @@ import com.example.timesheet.exceptions.TimeSheetException;
 import com.example.timesheet.models.Clients;
 import com.example.timesheet.repository.ClientsRepository;
 import com.example.timesheet.service.serviceimpl.ClientServiceImpl;
+import com.example.timesheet.utils.CursorUtil;
+import com.example.timesheet.utils.SliceUtil;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
@@ -22,9 +24,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -33,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -92,7 +99,7 @@ class ClientServiceImplTest {
                     org.mockito.Mockito.any(Pageable.class)))
                     .thenReturn(page);
 
-            var response = clientService.getAllClients(0, 10, List.of(), List.of());
+            var response = clientService.getAllClients(0, 10, List.of(), List.of(), true);
 
             assertThat(response.getContent())
                     .hasSize(1)
@@ -109,11 +116,73 @@ class ClientServiceImplTest {
                     org.mockito.Mockito.any(Pageable.class)))
                     .thenReturn(Page.empty());
 
-            assertThatThrownBy(() -> clientService.getAllClients(0, 10, List.of(), List.of()))
+            assertThatThrownBy(() -> clientService.getAllClients(0, 10, List.of(), List.of(), true))
                     .isInstanceOf(TimeSheetException.class)
                     .extracting("errorCode")
                     .isEqualTo(ErrorCode.NOT_FOUND_ERROR);
         }
+
+        @Test
+        void returnsSliceWithoutCount_whenTotalNotRequested() {
+            when(clientsRepository.findBy(org.mockito.Mockito.<Specification<Clients>>any(), any()))
+                    .thenReturn(Window.from(List.of(clientEntity), ScrollPosition::offset, true));
+
+            var response = clientService.getAllClients(10, 10, List.of(), List.of(), false);
+
+            assertThat(response.getContent()).extracting(ClientResponseDto::getId).containsExactly(1L);
+            assertThat(response.getPage()).isEqualTo(1);
+            assertThat(response.isHasNext()).isTrue();
+            assertThat(response.getTotalElements()).isNull();
+            verify(clientsRepository, never()).findAll(
+                    org.mockito.Mockito.<Specification<Clients>>any(), org.mockito.Mockito.any(Pageable.class));
+        }
+
+        @Test
+        void sliceStartsAtFirstRowOfRequestedPage() {
+            assertThat(SliceUtil.startAt(PageRequest.of(0, 10)).isInitial()).isTrue();
+            assertThat(SliceUtil.startAt(PageRequest.of(2, 10)).getOffset()).isEqualTo(19);
+        }
+    }
+
+    /* ───────────────────────── getClientsAfter ───────────────────────── */
+    @Nested
+    class GetClientsAfter {
+
+        @Test
+        void returnsCursorForLastRow_whenMoreRowsExist() {
+            Window<Clients> window = Window.from(
+                    List.of(clientEntity), i -> ScrollPosition.forward(Map.of("id", 1L)), true);
+            when(clientsRepository.findBy(org.mockito.Mockito.<Specification<Clients>>any(), any()))
+                    .thenReturn(window);
+
+            var response = clientService.getClientsAfter(null, 1, List.of(), List.of());
+
+            assertThat(response.getContent()).extracting(ClientResponseDto::getId).containsExactly(1L);
+            assertThat(response.isHasNext()).isTrue();
+            assertThat(CursorUtil.decode(response.getNextCursor(), Sort.by("id"), Clients.class).getKeys())
+                    .containsEntry("id", 1L);
+        }
+
+        @Test
+        void omitsCursor_onLastPage() {
+            when(clientsRepository.findBy(org.mockito.Mockito.<Specification<Clients>>any(), any()))
+                    .thenReturn(Window.from(List.of(clientEntity), i -> ScrollPosition.forward(Map.of("id", 1L))));
+
+            var response = clientService.getClientsAfter(null, 10, List.of(), List.of());
+
+            assertThat(response.isHasNext()).isFalse();
+            assertThat(response.getNextCursor()).isNull();
+        }
+
+        @Test
+        void rejectsCursor_thatDoesNotMatchSort() {
+            String cursor = CursorUtil.nextCursor(Window.from(
+                    List.of(clientEntity), i -> ScrollPosition.forward(Map.of("id", 1L)), true));
+
+            assertThatThrownBy(() -> CursorUtil.decode(cursor, Sort.by("name", "id"), Clients.class))
+                    .isInstanceOfSatisfying(TimeSheetException.class,
+                            e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.VALIDATION_ERROR));
+        }
     }
 
     /* ───────────────────────── getClientById ───────────────────────── */
@@ -123,7 +123,7 @@ class CostCenterServiceImplTest {
                     org.mockito.Mockito.any(Pageable.class)))
                     .thenReturn(page);
 
-            var response = costCenterService.getAllCostCenters(0, 10, List.of(), List.of());
+            var response = costCenterService.getAllCostCenters(0, 10, List.of(), List.of(), true);
 
             assertThat(response.getContent()).singleElement()
                     .extracting(CostCenterResponseDto::getCostCenterCode)
@@ -138,7 +138,7 @@ class CostCenterServiceImplTest {
                     .thenReturn(Page.empty());
 
             assertThatThrownBy(() ->
-                    costCenterService.getAllCostCenters(0, 10, List.of(), List.of()))
+                    costCenterService.getAllCostCenters(0, 10, List.of(), List.of(), true))
                     .isInstanceOf(TimeSheetException.class)
                     .extracting("errorCode")
                     .isEqualTo(ErrorCode.NOT_FOUND_ERROR);
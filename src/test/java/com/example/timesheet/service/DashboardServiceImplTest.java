@@ -0,0 +1,154 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.dto.projection.ProjectReference;
+import com.example.timesheet.dto.response.ccmanagerdashboard.CCManagerDashboardDto;
+import com.example.timesheet.dto.response.projectmanagerdashboard.ProjectManagerDashboardDTO;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
+import com.example.timesheet.repository.ProjectEmployeeRepository;
+import com.example.timesheet.repository.ProjectRepository;
+import com.example.timesheet.repository.TimesheetSummaryRepository;
+import com.example.timesheet.service.serviceimpl.DashboardServiceImpl;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    private static final String PM1 = "PM1";
+    private static final String PRJ1 = "PRJ1";
+    private static final String PRJ2 = "PRJ2";
+
+    @Mock private MonthlyHoursRollupRepository rollupRepo;
+    @Mock private TimesheetSummaryRepository summaryRepo;
+    @Mock private ProjectRepository projectRepo;
+    @Mock private ProjectEmployeeRepository projectEmployeeRepo;
+    @Mock private EmployeeDirectoryService employeeDirectory;
+    // Sub-queries run inline so stubbing and verification stay deterministic
+    @Spy private SyncTaskExecutor dashboardExecutor = new SyncTaskExecutor();
+    @InjectMocks private DashboardServiceImpl service;
+
+    private ProjectReference project(String code, String title) {
+        return new ProjectReference(code, title, PM1);
+    }
+
+    @Nested class PmDashboard {
+
+        @Test
+        void readsHoursAndTrendFromAggregateQueries() {
+            when(projectRepo.findActiveReferencesByProjectManagerCode(PM1))
+                    .thenReturn(List.of(project(PRJ1, "Alpha"), project(PRJ2, null)));
+            when(rollupRepo.findTotalHoursPerProject(Set.of(PRJ1, PRJ2), null, null)).thenReturn(List.of(
+                    new Object[]{PRJ1, 120.0},
+                    new Object[]{PRJ2, 8.5}));
+            when(rollupRepo.findMonthlyHoursForProjects(Set.of(PRJ1, PRJ2))).thenReturn(List.of(
+                    new Object[]{"2025-04", 40.0},
+                    new Object[]{"2025-05", 88.5}));
+            when(projectEmployeeRepo.countEmployeesPerProject(Set.of(PRJ1, PRJ2)))
+                    .thenReturn(List.<Object[]>of(new Object[]{PRJ1, 3L}));
+            when(summaryRepo.countStatusByProjectCode(anyList())).thenReturn(List.of());
+
+            ProjectManagerDashboardDTO dashboard = service.getPmDashboard(PM1);
+
+            assertThat(dashboard.getTotalActiveProjects()).isEqualTo(2);
+            assertThat(dashboard.getProjectHours())
+                    .extracting(ProjectManagerDashboardDTO.ProjectHoursDTO::getTitle,
+                            ProjectManagerDashboardDTO.ProjectHoursDTO::getTotalHours)
+                    .containsExactly(
+                            tuple("Alpha", 120.0),
+                            tuple("N/A", 8.5));
+            assertThat(dashboard.getMonthlyHoursTrend())
+                    .extracting(ProjectManagerDashboardDTO.MonthlyHoursDTO::getMonth)
+                    .containsExactly("2025-04", "2025-05");
+            assertThat(dashboard.getEmployeeDistribution())
+                    .extracting(ProjectManagerDashboardDTO.ProjectEmployeeCountDTO::getEmployeeCount)
+                    .containsExactly(3, 0);
+        }
+
+        @Test
+        void fansOutEverySection_afterThePortfolioLookup() {
+            List<ProjectReference> portfolio = IntStream.rangeClosed(1, 40)
+                    .mapToObj(i -> project("PRJ" + i, "Project " + i))
+                    .toList();
+            when(projectRepo.findActiveReferencesByProjectManagerCode(PM1)).thenReturn(portfolio);
+            when(rollupRepo.findTotalHoursPerProject(any(), isNull(), isNull())).thenReturn(List.of());
+            when(rollupRepo.findMonthlyHoursForProjects(any())).thenReturn(List.of());
+            when(projectEmployeeRepo.countEmployeesPerProject(any())).thenReturn(List.of());
+            when(summaryRepo.countStatusByProjectCode(anyList())).thenReturn(List.of());
+
+            ProjectManagerDashboardDTO dashboard = service.getPmDashboard(PM1);
+
+            assertThat(dashboard.getEmployeeDistribution()).hasSize(40);
+            // Statement counts are asserted against a real database in DashboardStatementCountTest.
+            // Everything after the portfolio lookup goes through the fan-out executor
+            verify(dashboardExecutor, times(4)).execute(any());
+        }
+
+        @Test
+        void rethrowsTheFailingSubQuerysOwnException() {
+            when(projectRepo.findActiveReferencesByProjectManagerCode(PM1))
+                    .thenReturn(List.of(project(PRJ1, "Alpha")));
+            when(rollupRepo.findTotalHoursPerProject(any(), isNull(), isNull()))
+                    .thenThrow(new QueryTimeoutException("statement timeout"));
+
+            assertThatThrownBy(() -> service.getPmDashboard(PM1))
+                    .isInstanceOf(QueryTimeoutException.class)
+                    .hasMessage("statement timeout");
+        }
+
+        @Test
+        void returnsEmptyDashboard_withoutQueryingRows_whenPmHasNoProjects() {
+            when(projectRepo.findActiveReferencesByProjectManagerCode(PM1)).thenReturn(List.of());
+
+            ProjectManagerDashboardDTO dashboard = service.getPmDashboard(PM1);
+
+            assertThat(dashboard.getTotalActiveProjects()).isZero();
+            assertThat(dashboard.getProjectHours()).isEmpty();
+            verifyNoInteractions(rollupRepo, summaryRepo, projectEmployeeRepo);
+        }
+    }
+
+    @Nested class CcManagerDashboard {
+
+        @Test
+        void fansOutEverySection_afterThePortfolioLookup() {
+            List<Object[]> portfolio = IntStream.rangeClosed(1, 40)
+                    .mapToObj(i -> new Object[]{"PRJ" + i, i % 2 == 0})
+                    .toList();
+            when(projectRepo.findCodesAndActiveFlagByCostCenterManager(PM1)).thenReturn(portfolio);
+            when(rollupRepo.findTotalHoursPerProject(any(), any(), any()))
+                    .thenReturn(List.<Object[]>of(new Object[]{PRJ2, 16.0}));
+            when(projectEmployeeRepo.countEmployeesPerProject(any()))
+                    .thenReturn(List.<Object[]>of(new Object[]{PRJ2, 4L}));
+            when(summaryRepo.countTimesheetStatusByManager(PM1, 2025, 5)).thenReturn(List.of());
+
+            CCManagerDashboardDto dashboard = service.getCCManagerDashboard(PM1, 2025, 5);
+
+            assertThat(dashboard.getActiveProjectCount()).isEqualTo(20);
+            assertThat(dashboard.getTotalHoursPerProject()).containsEntry(PRJ2, 16.0);
+            assertThat(dashboard.getEmployeeCountPerProject()).containsEntry(PRJ2, 4L);
+            verify(dashboardExecutor, times(3)).execute(any());
+        }
+    }
+}
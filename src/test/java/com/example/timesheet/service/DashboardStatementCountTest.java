@@ -0,0 +1,94 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.common.config.JpaAuditConfig;
+import com.example.timesheet.config.DashboardExecutorConfig;
+import com.example.timesheet.service.serviceimpl.DashboardServiceImpl;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counts the SQL statements Hibernate prepares for a dashboard, so the portfolio size cannot leak into
+// the number of round trips. Runs against an embedded PostgreSQL because the aggregates use native SQL.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import({DashboardServiceImpl.class, DashboardExecutorConfig.class, JpaAuditConfig.class})
+// Sub-queries run on the fan-out pool with their own connections, so seed rows have to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardStatementCountTest {
+
+    private static final String PM1 = "PM1";
+    private static final String CCM1 = "CCM1";
+    private static final String CC1 = "CC1";
+
+    @MockitoBean private EmployeeDirectoryService employeeDirectoryService;
+    @Autowired private DashboardService dashboardService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        jdbcTemplate.update("INSERT INTO cost_centers (cost_center_code, name, cost_center_manager_code, is_active) "
+                + "VALUES (?, 'Delivery', ?, true)", CC1, CCM1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM monthly_hours_rollup");
+        jdbcTemplate.execute("DELETE FROM project_employee");
+        jdbcTemplate.execute("DELETE FROM project");
+        jdbcTemplate.execute("DELETE FROM cost_centers");
+    }
+
+    private void seedPortfolio(int projects) {
+        for (int i = 1; i <= projects; i++) {
+            String projectCode = "PRJ" + i;
+            jdbcTemplate.update("INSERT INTO project (project_code, title, cost_center_code, project_manager_code, "
+                    + "is_active) VALUES (?, ?, ?, ?, true)", projectCode, "Project " + i, CC1, PM1);
+            jdbcTemplate.update("INSERT INTO project_employee (project_code, employee_code, is_active) "
+                    + "VALUES (?, ?, true)", projectCode, "EMP" + i);
+            jdbcTemplate.update("INSERT INTO monthly_hours_rollup (project_code, employee_code, timesheet_year, "
+                    + "timesheet_month, entry_type, total_hours, entry_count) VALUES (?, ?, 2025, 5, 'PROJECT', 8, 1)",
+                    projectCode, "EMP" + i);
+        }
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 40})
+    void pmDashboard_preparesFiveStatements(int projects) {
+        seedPortfolio(projects);
+
+        assertThat(dashboardService.getPmDashboard(PM1).getEmployeeDistribution()).hasSize(projects);
+        // Portfolio lookup, then hours, head count, status counts and monthly trend
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 40})
+    void ccManagerDashboard_preparesFourStatements(int projects) {
+        seedPortfolio(projects);
+
+        assertThat(dashboardService.getCCManagerDashboard(CCM1, 2025, 5).getActiveProjectCount())
+                .isEqualTo(projects);
+        // Portfolio lookup, then hours, head count and status counts
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.client.IdentityServiceClient;
+import com.example.timesheet.dto.response.UserIdentityDto;
+import com.example.timesheet.models.EmployeeDirectory;
+import com.example.timesheet.repository.EmployeeDirectoryRepository;
+import com.example.timesheet.service.serviceimpl.EmployeeDirectoryServiceImpl;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeDirectoryServiceImplTest {
+
+    private static final String EMP1 = "EMP1";
+    private static final String EMP2 = "EMP2";
+    private static final String MGR1 = "MGR1";
+    private static final String NAME = "John";
+    private static final String RENAMED = "Johnny";
+
+    @Mock private IdentityServiceClient identityClient;
+    @Mock private EmployeeDirectoryRepository repository;
+    @InjectMocks private EmployeeDirectoryServiceImpl service;
+
+    private EmployeeDirectory stored(String code, String manager, String firstName) {
+        return EmployeeDirectory.builder()
+                .employeeCode(code)
+                .managerCode(manager)
+                .firstName(firstName)
+                .syncedOn(LocalDateTime.now())
+                .build();
+    }
+
+    private Map<String, String> user(String code, String manager, String firstName) {
+        return Map.of("employeeCode", code, "managerCode", manager, "firstName", firstName);
+    }
+
+    @Nested class Sync {
+
+        @Test
+        void writesOnlyChangedRows_andDeletesRemovedOnes() {
+            when(repository.findAll()).thenReturn(List.of(
+                    stored(EMP1, MGR1, NAME),
+                    stored(EMP2, MGR1, "Jane")));
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of(
+                    user(EMP1, MGR1, RENAMED))));
+            when(repository.upsertAll(anyList(), any())).thenReturn(1);
+
+            assertThat(service.syncFromIdentityService()).isEqualTo(1);
+
+            verify(repository).upsertAll(argThat(rows -> rows.size() == 1
+                    && RENAMED.equals(rows.get(0).getFirstName())), any());
+            verify(repository).deleteAllByIdInBatch(List.of(EMP2));
+            assertThat(service.getEmployeesUnderManager(MGR1))
+                    .extracting(UserIdentityDto::getFirstName).containsExactly(RENAMED);
+        }
+
+        @Test
+        void diffsAgainstTheTable_notAnIndexLoadedBeforeAnotherInstanceSynced() {
+            // The index is loaded first; another instance then writes Johnny before this sync runs
+            when(repository.findAll()).thenReturn(
+                    List.of(stored(EMP1, MGR1, NAME)),
+                    List.of(stored(EMP1, MGR1, RENAMED)));
+            assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(NAME);
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of(
+                    user(EMP1, MGR1, RENAMED))));
+
+            service.syncFromIdentityService();
+
+            verify(repository).upsertAll(argThat(List::isEmpty), any());
+            verify(repository, never()).deleteAllByIdInBatch(any());
+        }
+
+        @Test
+        void replacesTheIndex_onlyAfterCommit() {
+            when(repository.findAll()).thenReturn(List.of(stored(EMP1, MGR1, NAME)));
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of(
+                    user(EMP1, MGR1, RENAMED))));
+            assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(NAME);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                service.syncFromIdentityService();
+                assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(NAME);
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(RENAMED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        void removesUsersThatDisappeared_fromTheTableAndTheIndex() {
+            when(repository.findAll()).thenReturn(List.of(
+                    stored(EMP1, MGR1, NAME),
+                    stored(EMP2, MGR1, "Jane")));
+            assertThat(service.getEmployeesUnderManager(MGR1)).hasSize(2);
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of(
+                    user(EMP1, MGR1, NAME))));
+
+            assertThat(service.syncFromIdentityService()).isZero();
+
+            verify(repository).upsertAll(argThat(List::isEmpty), any());
+            verify(repository).deleteAllByIdInBatch(List.of(EMP2));
+            assertThat(service.findEmployee(EMP1)).isPresent();
+            assertThat(service.getEmployeesUnderManager(MGR1)).extracting(UserIdentityDto::getEmployeeCode)
+                    .containsExactly(EMP1);
+        }
+
+        @Test
+        void keepsTheLastOfDuplicateEmployeeCodes() {
+            when(repository.findAll()).thenReturn(List.of());
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of(
+                    user(EMP1, MGR1, NAME),
+                    user(EMP1, "MGR2", RENAMED))));
+            when(repository.upsertAll(anyList(), any())).thenReturn(1);
+
+            service.syncFromIdentityService();
+
+            verify(repository).upsertAll(argThat(rows -> rows.size() == 1
+                    && RENAMED.equals(rows.get(0).getFirstName())
+                    && "MGR2".equals(rows.get(0).getManagerCode())), any());
+            assertThat(service.getEmployeesUnderManager(MGR1)).isEmpty();
+            assertThat(service.getAllEmployees()).singleElement()
+                    .extracting(UserIdentityDto::getFirstName).isEqualTo(RENAMED);
+        }
+
+        @Test
+        void leavesDirectoryUnchanged_whenIdentityReturnsNoBody() {
+            when(repository.findAll()).thenReturn(List.of(stored(EMP1, MGR1, NAME)));
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(null));
+
+            assertThat(service.syncFromIdentityService()).isZero();
+
+            verify(repository, never()).upsertAll(anyList(), any());
+            verify(repository, never()).deleteAllByIdInBatch(any());
+            assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(NAME);
+        }
+
+        @Test
+        void leavesDirectoryUnchanged_whenIdentityReturnsNoUsers() {
+            when(identityClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of()));
+
+            assertThat(service.syncFromIdentityService()).isZero();
+
+            verify(repository, never()).upsertAll(anyList(), any());
+            verify(repository, never()).deleteAllByIdInBatch(any());
+        }
+    }
+
+    @Nested class Lookup {
+
+        @Test
+        void readsFromLocalCopy() {
+            when(repository.findAll()).thenReturn(List.of(stored(EMP1, MGR1, NAME)));
+
+            assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(NAME);
+            assertThat(service.getEmployeesUnderManager("OTHER")).isEmpty();
+            verifyNoInteractions(identityClient);
+        }
+
+        @Test
+        void returnsCopies_soCallersCannotChangeTheSharedIndex() {
+            when(repository.findAll()).thenReturn(List.of(stored(EMP1, MGR1, NAME)));
+
+            service.getEmployeesUnderManager(MGR1).get(0).setFirstName("Changed");
+            service.findEmployee(EMP1).orElseThrow().setManagerCode("OTHER");
+
+            assertThat(service.findEmployee(EMP1)).map(UserIdentityDto::getFirstName).contains(NAME);
+            assertThat(service.getEmployeesUnderManager(MGR1)).extracting(UserIdentityDto::getEmployeeCode)
+                    .containsExactly(EMP1);
+        }
+
+        @Test
+        void fallsBackToIdentityService_forEmployeesNotYetSynced() {
+            when(repository.findAll()).thenReturn(List.of());
+            UserIdentityDto fresh = new UserIdentityDto();
+            fresh.setEmployeeCode(EMP2);
+            when(identityClient.getUserByemployeeCode(EMP2)).thenReturn(ResponseEntity.ok(fresh));
+
+            assertThat(service.findEmployee(EMP2)).contains(fresh);
+        }
+
+        @Test
+        void returnsEmpty_whenIdentityLookupFails() {
+            when(repository.findAll()).thenReturn(List.of());
+            when(identityClient.getUserByemployeeCode(EMP2)).thenThrow(new IllegalStateException("down"));
+
+            assertThat(service.findEmployee(EMP2)).isEmpty();
+        }
+    }
+}
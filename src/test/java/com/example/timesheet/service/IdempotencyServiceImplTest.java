@@ -0,0 +1,114 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.common.constants.ErrorCode;
+import com.example.timesheet.enums.IdempotencyStatus;
+import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.models.IdempotencyRecord;
+import com.example.timesheet.repository.IdempotencyRecordRepository;
+import com.example.timesheet.service.serviceimpl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    private static final String KEY = "retry-123";
+    private static final String ENDPOINT = "POST /tms/timesheets/daily";
+    private static final String HASH = "abc";
+
+    @Mock private IdempotencyRecordRepository repository;
+    @InjectMocks private IdempotencyServiceImpl service;
+
+    private IdempotencyRecord stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = IdempotencyRecord.builder()
+                .idempotencyKey(KEY)
+                .endpoint(ENDPOINT)
+                .requestHash(HASH)
+                .status(IdempotencyStatus.COMPLETED)
+                .responseStatus(200)
+                .responseBody("\"Daily Timesheet saved\"")
+                .createdOn(LocalDateTime.now())
+                .expiresOn(LocalDateTime.now().plusHours(24))
+                .build();
+    }
+
+    @Test
+    void claim_holdsTheKeyOnlyForTheLease_untilCompleted() {
+        ReflectionTestUtils.setField(service, "leaseMinutes", 5L);
+        when(repository.claim(eq(KEY), eq(ENDPOINT), eq(HASH), any(), any())).thenReturn(1);
+
+        service.claim(KEY, ENDPOINT, HASH);
+
+        verify(repository).claim(eq(KEY), eq(ENDPOINT), eq(HASH), any(),
+                argThat(expiresOn -> expiresOn.isBefore(LocalDateTime.now().plusMinutes(6))));
+    }
+
+    @Test
+    void claim_returnsTrueOnlyWhenRowWasWritten() {
+        when(repository.claim(eq(KEY), eq(ENDPOINT), eq(HASH), any(), any())).thenReturn(1, 0);
+
+        assertThat(service.claim(KEY, ENDPOINT, HASH)).isTrue();
+        assertThat(service.claim(KEY, ENDPOINT, HASH)).isFalse();
+    }
+
+    @Nested class GetCompleted {
+
+        @Test
+        void returnsStoredResponse() {
+            when(repository.findById(KEY)).thenReturn(Optional.of(stored));
+
+            assertThat(service.getCompleted(KEY, ENDPOINT, HASH).getResponseBody())
+                    .isEqualTo("\"Daily Timesheet saved\"");
+        }
+
+        @Test
+        void conflicts_whenStillInProgress() {
+            stored.setStatus(IdempotencyStatus.IN_PROGRESS);
+            when(repository.findById(KEY)).thenReturn(Optional.of(stored));
+
+            assertThatThrownBy(() -> service.getCompleted(KEY, ENDPOINT, HASH))
+                    .isInstanceOf(TimeSheetException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ErrorCode.CONFLICT_ERROR);
+        }
+
+        @Test
+        void conflicts_whenKeyReusedForDifferentPayload() {
+            when(repository.findById(KEY)).thenReturn(Optional.of(stored));
+
+            assertThatThrownBy(() -> service.getCompleted(KEY, ENDPOINT, "other"))
+                    .isInstanceOf(TimeSheetException.class)
+                    .hasMessageContaining("different request");
+        }
+    }
+
+    @Test
+    void complete_storesResponse() {
+        ReflectionTestUtils.setField(service, "ttlHours", 24L);
+
+        service.complete(KEY, 202, "\"queued\"");
+
+        verify(repository).complete(eq(KEY), eq(IdempotencyStatus.COMPLETED), eq(202), eq("\"queued\""),
+                argThat(expiresOn -> expiresOn.isAfter(LocalDateTime.now().plusHours(23))));
+    }
+}
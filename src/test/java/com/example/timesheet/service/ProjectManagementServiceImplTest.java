@@ -1,6 +1,5 @@
 package com.example.timesheet.service;
 
-import com.example.timesheet.client.IdentityServiceClient;
 import com.example.timesheet.common.constants.ErrorCode;
 import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.dto.request.AssignEmployeesDto;
@@ -31,12 +30,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.ResponseEntity;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -51,6 +50,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -69,9 +69,10 @@ class ProjectManagementServiceImplTest {
     @Mock private ClientsRepository clientsRepo;
     @Mock private CostCenterRepository ccRepo;
     @Mock private ProjectRepository projRepo;
-    @Mock private IdentityServiceClient idClient;
+    @Mock private EmployeeDirectoryService directory;
     @Mock private ProjectEmployeeRepository peRepo;
     @Mock private ProjectRolesRepository roleRepo;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private ProjectManagementServiceImpl service;
 
     /* ───────── reusable domain objects ───────── */
@@ -186,7 +187,7 @@ class ProjectManagementServiceImplTest {
                     org.mockito.Mockito.any(Pageable.class)))
                     .thenReturn(page);
 
-            var resp = service.getAllProjects(0, 10, emptyList(), emptyList());
+            var resp = service.getAllProjects(0, 10, emptyList(), emptyList(), true);
 
             assertThat(resp.getContent()).singleElement()
                     .extracting("projectCode").isEqualTo(PROJ_CODE);
@@ -200,7 +201,7 @@ class ProjectManagementServiceImplTest {
                     .thenReturn(Page.empty());
 
             assertThatThrownBy(() ->
-                    service.getAllProjects(0, 10, emptyList(), emptyList()))
+                    service.getAllProjects(0, 10, emptyList(), emptyList(), true))
                     .isInstanceOf(TimeSheetException.class)
                     .extracting(ERROR_CODE)
                     .isEqualTo(ErrorCode.NOT_FOUND_ERROR);
@@ -227,14 +228,14 @@ class ProjectManagementServiceImplTest {
     @Nested class AssignEmployees {
 
         @Test
-        void assignsDistinctEmployees_andCallsIdentityService() {
+        void assignsDistinctEmployees_knownToDirectory() {
             when(projRepo.findByProjectCodeAndIsActiveTrue(PROJ_CODE)).thenReturn(Optional.of(project));
             when(peRepo.existsByIdAndIsActiveTrue(any())).thenReturn(false);
 
             UserIdentityDto id = new UserIdentityDto();
             id.setEmployeeCode(EMP1);
             id.setKeycloakUserId("kc-1");
-            when(idClient.getUserByemployeeCode(EMP1)).thenReturn(ResponseEntity.ok(id));
+            when(directory.findEmployee(EMP1)).thenReturn(Optional.of(id));
 
             AssignEmployeesDto.EmployeeAssignment ea = new AssignEmployeesDto.EmployeeAssignment();
             ea.setEmployeeCode(EMP1);
@@ -272,6 +273,23 @@ class ProjectManagementServiceImplTest {
                     iterable instanceof Collection && ((Collection<?>) iterable).isEmpty()));
             assertThat(msg).isEqualTo(MessageConstants.EMPLOYEE_ALREADY_ASSIGNED);
         }
+
+        @Test
+        void throwsNotFound_whenEmployeeUnknown() {
+            when(projRepo.findByProjectCodeAndIsActiveTrue(PROJ_CODE)).thenReturn(Optional.of(project));
+            when(peRepo.existsByIdAndIsActiveTrue(any())).thenReturn(false);
+            when(directory.findEmployee(EMP1)).thenReturn(Optional.empty());
+
+            AssignEmployeesDto.EmployeeAssignment ea = new AssignEmployeesDto.EmployeeAssignment();
+            ea.setEmployeeCode(EMP1);
+            AssignEmployeesDto dto = new AssignEmployeesDto();
+            dto.setEmployees(List.of(ea));
+
+            assertThatThrownBy(() -> service.assignEmployeesToProject(dto, PROJ_CODE))
+                    .isInstanceOf(TimeSheetException.class)
+                    .extracting(ERROR_CODE).isEqualTo(ErrorCode.NOT_FOUND_ERROR);
+            verify(peRepo, never()).saveAll(anyList());
+        }
     }
 
     /* ───────────────────────── getEmployeesByProject ───────────────────────── */
@@ -291,7 +309,7 @@ class ProjectManagementServiceImplTest {
         id.setEmployeeCode(EMP1);
         id.setFirstName("John");
         id.setLastName("Doe");
-        when(idClient.getUserByemployeeCode(EMP1)).thenReturn(ResponseEntity.ok(id));
+        when(directory.findEmployee(EMP1)).thenReturn(Optional.of(id));
 
         List<ProjectEmployeeDto> list = service.getEmployeesByProject(PROJ_CODE);
 
@@ -329,13 +347,15 @@ class ProjectManagementServiceImplTest {
         when(projRepo.findByProjectCodeAndIsActiveTrue(PROJ_CODE)).thenReturn(Optional.of(project));
         when(peRepo.findByProject_ProjectCodeAndIsActiveTrue(PROJ_CODE)).thenReturn(List.of());
 
-        Map<String, String> u1 = Map.of("employeeCode", EMP1);
-        Map<String, String> u2 = Map.of("employeeCode", "EMP2");
-        when(idClient.getAllUsersList()).thenReturn(ResponseEntity.ok(List.of(u1, u2)));
+        UserIdentityDto u1 = new UserIdentityDto();
+        u1.setEmployeeCode(EMP1);
+        UserIdentityDto u2 = new UserIdentityDto();
+        u2.setEmployeeCode("EMP2");
+        when(directory.getAllEmployees()).thenReturn(List.of(u1, u2));
 
         List<Map<String, String>> list = service.getUnassignedUsersForProject(PROJ_CODE);
 
-        assertThat(list).hasSize(2);
+        assertThat(list).extracting(u -> u.get("employeeCode")).containsExactly(EMP1, "EMP2");
     }
 
     /* ───────────────────────── Bean-validation smoke tests ───────────────────────── */
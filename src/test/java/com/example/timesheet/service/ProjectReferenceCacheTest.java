@@ -0,0 +1,108 @@
+package com.example.timesheet.service;
+
+import com.example.timesheet.common.constants.CacheNames;
+import com.example.timesheet.config.CacheConfig;
+import com.example.timesheet.dto.projection.ProjectReference;
+import com.example.timesheet.dto.request.ProjectDto;
+import com.example.timesheet.models.Clients;
+import com.example.timesheet.models.CostCenter;
+import com.example.timesheet.models.Project;
+import com.example.timesheet.repository.ClientsRepository;
+import com.example.timesheet.repository.CostCenterRepository;
+import com.example.timesheet.repository.ProjectEmployeeRepository;
+import com.example.timesheet.repository.ProjectRepository;
+import com.example.timesheet.repository.ProjectRolesRepository;
+import com.example.timesheet.service.serviceimpl.ProjectManagementServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Runs the service behind the real cache proxy, so a missing @CacheEvict leaves the cached reference behind
+@SpringBootTest(
+        classes = {ProjectManagementServiceImpl.class, CacheConfig.class},
+        properties = {
+                "spring.cache.type=caffeine",
+                "spring.cache.cache-names=" + CacheNames.PROJECT_REFERENCES
+        }
+)
+@ImportAutoConfiguration({CacheAutoConfiguration.class, AopAutoConfiguration.class})
+class ProjectReferenceCacheTest {
+
+    private static final String PROJ_CODE = "PRJ01";
+    private static final String CC_CODE = "CC01";
+
+    @MockitoBean private ClientsRepository clientsRepo;
+    @MockitoBean private CostCenterRepository ccRepo;
+    @MockitoBean private ProjectRepository projRepo;
+    @MockitoBean private EmployeeDirectoryService directory;
+    @MockitoBean private ProjectEmployeeRepository peRepo;
+    @MockitoBean private ProjectRolesRepository roleRepo;
+    @Autowired private ProjectManagementServiceImpl service;
+    @Autowired private CacheManager cacheManager;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheNames.PROJECT_REFERENCES);
+        cache.clear();
+        cache.put(PROJ_CODE, new ProjectReference(PROJ_CODE, "Apollo", "MGR1"));
+    }
+
+    private Project project() {
+        Project project = new Project();
+        project.setProjectCode(PROJ_CODE);
+        project.setTitle("Apollo");
+        project.setActive(true);
+        return project;
+    }
+
+    @Test
+    void updateStatus_evictsTheProjectsReference() {
+        when(projRepo.findById(PROJ_CODE)).thenReturn(Optional.of(project()));
+        when(projRepo.save(any(Project.class))).thenAnswer(i -> i.getArgument(0));
+
+        service.updateProjectStatus(PROJ_CODE, false);
+
+        assertThat(cache.get(PROJ_CODE)).isNull();
+    }
+
+    @Test
+    void delete_evictsTheProjectsReference() {
+        when(projRepo.findByProjectCodeAndIsActiveTrue(PROJ_CODE)).thenReturn(Optional.of(project()));
+
+        service.deleteProject(PROJ_CODE);
+
+        assertThat(cache.get(PROJ_CODE)).isNull();
+    }
+
+    @Test
+    void create_evictsAMissCachedBeforeTheProjectExisted() {
+        cache.put(PROJ_CODE, null);
+        when(clientsRepo.findByIdAndIsActiveTrue(1L)).thenReturn(Optional.of(new Clients()));
+        CostCenter costCenter = new CostCenter();
+        costCenter.setCostCenterCode(CC_CODE);
+        when(ccRepo.findByCostCenterCodeAndIsActiveTrue(CC_CODE)).thenReturn(Optional.of(costCenter));
+        ProjectDto dto = new ProjectDto();
+        dto.setTitle("Apollo");
+        dto.setClientId(1L);
+        dto.setCostCenterCode(CC_CODE);
+
+        service.createProject(dto);
+
+        assertThat(cache.get(PROJ_CODE)).isNull();
+    }
+}
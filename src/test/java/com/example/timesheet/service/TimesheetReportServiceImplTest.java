@@ -2,11 +2,11 @@ package com.example.timesheet.service;
 
 import com.example.timesheet.repository.DailyTimeSheetRepository;
 import com.example.timesheet.repository.ProjectRepository;
-import com.example.timesheet.client.IdentityServiceClient;
 import com.example.timesheet.dto.response.UserIdentityDto;
 import com.example.timesheet.enums.EntryType;
 import com.example.timesheet.models.DailyTimeSheet;
-import com.example.timesheet.models.Project;
+import com.example.timesheet.dto.projection.DailyEntryExportView;
+import com.example.timesheet.dto.projection.ProjectReference;
 import com.example.timesheet.service.serviceimpl.TimesheetReportServiceImpl;
 import com.example.timesheet.utils.ExcelReportGenerator;
 import org.junit.jupiter.api.Nested;
@@ -18,13 +18,14 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpClientErrorException;
 
 import java.io.IOException;
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -50,7 +51,7 @@ class TimesheetReportServiceImplTest {
     private ProjectRepository projectRepo;
 
     @Mock
-    private IdentityServiceClient identityClient;
+    private EmployeeDirectoryService employeeDirectory;
 
     @InjectMocks
     private TimesheetReportServiceImpl service;
@@ -87,29 +88,26 @@ class TimesheetReportServiceImplTest {
                     anyInt(), anyInt(), anyList(), anyList()))
                     .thenReturn(List.of());
 
-            Project prj = new Project();
-            prj.setProjectCode(PROJECT_1);
-            prj.setTitle("Apollo");
-            prj.setProjectManagerCode(MANAGER_1);
+            ProjectReference prj = new ProjectReference(PROJECT_1, "Apollo", MANAGER_1);
 
-            when(projectRepo.findById(PROJECT_1)).thenReturn(Optional.of(prj));
+            when(projectRepo.findReferenceByProjectCode(PROJECT_1)).thenReturn(Optional.of(prj));
 
             UserIdentityDto mgr = new UserIdentityDto();
             mgr.setFirstName("Mary");
             mgr.setLastName("Smith");
 
-            when(identityClient.getUserByemployeeCode(MANAGER_1))
-                    .thenReturn(ResponseEntity.ok(mgr));
+            when(employeeDirectory.findEmployee(MANAGER_1))
+                    .thenReturn(Optional.of(mgr));
 
             UserIdentityDto emp1 = new UserIdentityDto();
             emp1.setFirstName("John");
             emp1.setLastName("Jones");
 
-            when(identityClient.getUserByemployeeCode(EMPLOYEE_1))
-                    .thenReturn(ResponseEntity.ok(emp1));
+            when(employeeDirectory.findEmployee(EMPLOYEE_1))
+                    .thenReturn(Optional.of(emp1));
 
-            when(identityClient.getUserByemployeeCode(EMPLOYEE_2))
-                    .thenReturn(ResponseEntity.ok(emp1));
+            when(employeeDirectory.findEmployee(EMPLOYEE_2))
+                    .thenReturn(Optional.of(emp1));
 
             try (MockedStatic<ExcelReportGenerator> excelMock = mockStatic(ExcelReportGenerator.class)) {
                 excelMock.when(() -> ExcelReportGenerator.generateExcel(
@@ -134,12 +132,9 @@ class TimesheetReportServiceImplTest {
                     anyInt(), anyInt(), anyList(), anyList()))
                     .thenReturn(List.of());
 
-            Project project = new Project();
-            project.setProjectCode(PROJECT_1);
-            project.setTitle("Test Project");
-            project.setProjectManagerCode(MANAGER_1);
+            ProjectReference project = new ProjectReference(PROJECT_1, "Test Project", MANAGER_1);
 
-            when(projectRepo.findById(PROJECT_1)).thenReturn(Optional.of(project));
+            when(projectRepo.findReferenceByProjectCode(PROJECT_1)).thenReturn(Optional.of(project));
 
             UserIdentityDto mgr = new UserIdentityDto();
             mgr.setFirstName("Mary");
@@ -149,8 +144,8 @@ class TimesheetReportServiceImplTest {
             emp.setFirstName("John");
             emp.setLastName("Jones");
 
-            when(identityClient.getUserByemployeeCode(MANAGER_1)).thenReturn(ResponseEntity.ok(mgr));
-            when(identityClient.getUserByemployeeCode(EMPLOYEE_1)).thenReturn(ResponseEntity.ok(emp));
+            when(employeeDirectory.findEmployee(MANAGER_1)).thenReturn(Optional.of(mgr));
+            when(employeeDirectory.findEmployee(EMPLOYEE_1)).thenReturn(Optional.of(emp));
 
             try (MockedStatic<ExcelReportGenerator> excelMock = mockStatic(ExcelReportGenerator.class)) {
                 excelMock.when(() -> ExcelReportGenerator.generateExcel(
@@ -200,20 +195,29 @@ class TimesheetReportServiceImplTest {
     }
 
     @Test
-    void shouldReturnSuccessEvenWhenIdentityServiceFails() {
-        Project project = new Project();
-        project.setProjectCode(PROJECT_1);
-        project.setProjectManagerCode("BAD");
+    void shouldReturnSuccessEvenWhenEmployeeUnknown() {
+        ProjectReference project = new ProjectReference(PROJECT_1, null, "BAD");
 
-        when(projectRepo.findById(PROJECT_1))
+        when(projectRepo.findReferenceByProjectCode(PROJECT_1))
                 .thenReturn(Optional.of(project));
 
-        when(identityClient.getUserByemployeeCode("BAD"))
-                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND, "User not found"));
+        when(employeeDirectory.findEmployee("BAD")).thenReturn(Optional.empty());
 
         ResponseEntity<String> response = service.generateReport(2025, 5, PROJECT_1);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamsMonthRowsWithoutCollectingThem() {
+        DailyEntryExportView row = new DailyEntryExportView(EMPLOYEE_1, 2025, 5, start, PROJECT_1,
+                EntryType.PROJECT, 8.0, null, false);
+        when(dailyRepo.streamMonthEntries(2025, 5, PROJECT_1)).thenReturn(Stream.of(row));
+        List<DailyEntryExportView> written = new ArrayList<>();
+
+        service.streamMonthlyTimesheetData(2025, 5, PROJECT_1, written::add);
+
+        assertThat(written).containsExactly(row);
+    }
+}
@@ -1,28 +1,38 @@
 package com.example.timesheet.service;
 
-import com.example.timesheet.client.IdentityServiceClient;
 import com.example.timesheet.common.constants.ErrorCode;
 import com.example.timesheet.common.constants.ErrorMessage;
 import com.example.timesheet.common.constants.MessageConstants;
 import com.example.timesheet.dto.paginationdto.FilterRequest;
 import com.example.timesheet.dto.paginationdto.SortRequest;
 import com.example.timesheet.dto.paginationdto.response.PagedResponse;
+import com.example.timesheet.dto.projection.DailyEntryRowView;
+import com.example.timesheet.dto.projection.ResourceVersionView;
+import com.example.timesheet.dto.projection.TimesheetMatrixCellView;
+import com.example.timesheet.dto.projection.TimesheetSummaryView;
 import com.example.timesheet.dto.request.DailyTimesheetDto;
 import com.example.timesheet.dto.request.DailyTimesheetRequestDto;
 import com.example.timesheet.dto.request.ManagerApprovalRequestDto;
+import com.example.timesheet.dto.request.MonthlyTimesheetSubmitDto;
 import com.example.timesheet.dto.request.TimesheetSummaryDto;
+import com.example.timesheet.dto.response.ManagerApprovalResultDto;
+import com.example.timesheet.dto.response.MonthlySubmissionResponseDto;
+import com.example.timesheet.dto.response.TimesheetMatrixRowResponseDto;
 import com.example.timesheet.dto.response.UserIdentityDto;
 import com.example.timesheet.enums.EntryType;
 import com.example.timesheet.enums.TimeSheetStatus;
+import com.example.timesheet.events.TimesheetChangedEvent;
 import com.example.timesheet.exceptions.TimeSheetException;
+import com.example.timesheet.keys.MonthlyHoursRollupId;
 import com.example.timesheet.keys.ProjectEmployeeId;
 import com.example.timesheet.keys.TimesheetSummaryId;
 import com.example.timesheet.models.DailyTimeSheet;
 import com.example.timesheet.models.Project;
+import com.example.timesheet.models.ProjectEmployee;
 import com.example.timesheet.models.TimesheetSummary;
 import com.example.timesheet.repository.DailyTimeSheetRepository;
+import com.example.timesheet.repository.MonthlyHoursRollupRepository;
 import com.example.timesheet.repository.ProjectEmployeeRepository;
-import com.example.timesheet.repository.ProjectRepository;
 import com.example.timesheet.repository.TimesheetSummaryRepository;
 import com.example.timesheet.service.serviceimpl.TimesheetServiceImpl;
 import jakarta.validation.Validation;
@@ -32,26 +42,47 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
 import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -61,6 +92,8 @@ import static org.mockito.Mockito.when;
 class TimesheetServiceImplTest {
 
     /* ───────── duplicated-literal constants ───────── */
+    private static final String ERROR_CODE = "errorCode";
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
     private static final String PROJ_CODE = "P01";
     private static final String EMP1 = "EMP1";
     private static final String EMP2 = "EMP2";
@@ -70,9 +103,10 @@ class TimesheetServiceImplTest {
     /* ───────── mocks & SUT ───────── */
     @Mock private DailyTimeSheetRepository dailyRepo;
     @Mock private TimesheetSummaryRepository summaryRepo;
-    @Mock private ProjectRepository projectRepo;
     @Mock private ProjectEmployeeRepository projectEmpRepo;
-    @Mock private IdentityServiceClient identityClient;
+    @Mock private EmployeeDirectoryService employeeDirectory;
+    @Mock private MonthlyHoursRollupRepository rollupRepo;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private TimesheetServiceImpl service;
 
     /* ───────── reusable data ───────── */
@@ -82,6 +116,15 @@ class TimesheetServiceImplTest {
     private DailyTimeSheet dayEntity;
     private TimesheetSummary summaryDraft;
 
+    private TimesheetSummaryView view(TimesheetSummary summary) {
+        return PROJECTIONS.createProjection(TimesheetSummaryView.class, summary);
+    }
+
+    private TimesheetSummaryView makeSummaryView(String ec, Date weekStart,
+                                                 double hours, TimeSheetStatus st) {
+        return PROJECTIONS.createProjection(TimesheetSummaryView.class, makeSummary(ec, weekStart, hours, st));
+    }
+
     private TimesheetSummary makeSummary(String ec, Date weekStart,
                                          double hours, TimeSheetStatus st) {
         TimesheetSummaryId id = new TimesheetSummaryId(ec, 2025, 5, weekStart);
@@ -105,6 +148,7 @@ class TimesheetServiceImplTest {
                 .build();
 
         dayEntity = new DailyTimeSheet();
+        dayEntity.setId(1L);
         dayEntity.setEmployeeCode(EMP1);
         dayEntity.setTimesheetYear(2025);
         dayEntity.setTimesheetMonth(5);
@@ -123,13 +167,13 @@ class TimesheetServiceImplTest {
     /* ───────────────────── saveDailyEntry ───────────────────── */
     @Nested class SaveDailyEntry {
 
-        @Test
-        void createsNewEntry_andPersistsSummary() {
-            when(projectEmpRepo.existsById(new ProjectEmployeeId(PROJ_CODE, EMP1))).thenReturn(true);
-            when(projectRepo.findById(PROJ_CODE)).thenReturn(java.util.Optional.of(project));
-            when(dailyRepo.findByEmployeeCodeAndTimesheetYearAndTimesheetMonthAndWorkDateAndEntryTypeAndProjectCode(
-                    anyString(), anyInt(), anyInt(), any(), any(), anyString()))
-                    .thenReturn(java.util.Optional.empty());
+        private DailyTimesheetDto assignedProjectDay() {
+            ProjectEmployee assignment = ProjectEmployee.builder()
+                    .id(new ProjectEmployeeId(PROJ_CODE, EMP1))
+                    .project(project)
+                    .build();
+            when(projectEmpRepo.findActiveWithProjectByEmployeeCodes(Set.of(EMP1))).thenReturn(List.of(assignment));
+            when(dailyRepo.upsertAll(any())).thenReturn(6.0);
 
             DailyTimesheetRequestDto d = new DailyTimesheetRequestDto();
             d.setEmployeeCode(EMP1);
@@ -147,17 +191,41 @@ class TimesheetServiceImplTest {
             dto.setTimesheetYear(2025);
             dto.setTimesheetMonth(5);
             dto.setWeekStart(monday);
+            return dto;
+        }
+
+        @Test
+        void createsNewEntry_andPersistsSummary() {
+            DailyTimesheetDto dto = assignedProjectDay();
+            when(summaryRepo.addHoursAndResetToDraft(EMP1, 2025, 5, monday, 6.0)).thenReturn(1);
 
             String msg = service.saveDailyEntry(dto);
 
-            verify(dailyRepo).save(any(DailyTimeSheet.class));
-            verify(summaryRepo).save(any(TimesheetSummary.class));
+            verify(dailyRepo).upsertAll(argThat(rows -> rows.size() == 1
+                    && PROJ_CODE.equals(rows.get(0).getProjectCode())
+                    && rows.get(0).getHoursSpent() == 6.0));
+            verify(summaryRepo).addHoursAndResetToDraft(EMP1, 2025, 5, monday, 6.0);
             assertThat(msg).isEqualTo(MessageConstants.DAILY_TIMESHEET_SAVED);
         }
 
+        @Test
+        void conflicts_andPublishesNothing_whenWeekIsAlreadySubmitted() {
+            DailyTimesheetDto dto = assignedProjectDay();
+            summaryDraft.setStatus(TimeSheetStatus.SUBMITTED);
+            when(summaryRepo.addHoursAndResetToDraft(EMP1, 2025, 5, monday, 6.0)).thenReturn(0);
+            when(summaryRepo.findById(summaryDraft.getId())).thenReturn(java.util.Optional.of(summaryDraft));
+
+            assertThatThrownBy(() -> service.saveDailyEntry(dto))
+                    .isInstanceOf(TimeSheetException.class)
+                    .hasMessageContaining("SUBMITTED")
+                    .extracting(ERROR_CODE)
+                    .isEqualTo(ErrorCode.STATUS_CONFLICT_ERROR);
+            verifyNoInteractions(eventPublisher);
+        }
+
         @Test
         void throws_whenAssignmentMissing() {
-            when(projectEmpRepo.existsById(any(ProjectEmployeeId.class))).thenReturn(false);
+            when(projectEmpRepo.findActiveWithProjectByEmployeeCodes(Set.of(EMP1))).thenReturn(List.of());
 
             DailyTimesheetRequestDto bad = new DailyTimesheetRequestDto();
             bad.setEmployeeCode(EMP1);
@@ -177,7 +245,7 @@ class TimesheetServiceImplTest {
 
             assertThatThrownBy(() -> service.saveDailyEntry(wrap))
                     .isInstanceOf(TimeSheetException.class)
-                    .extracting("errorCode")
+                    .extracting(ERROR_CODE)
                     .isEqualTo(ErrorCode.NOT_FOUND_ERROR);
         }
     }
@@ -187,9 +255,7 @@ class TimesheetServiceImplTest {
 
         @Test
         void changesStatusFromDraftToSubmitted() {
-            when(summaryRepo.findById(any(TimesheetSummaryId.class)))
-                    .thenReturn(java.util.Optional.of(summaryDraft));
-            when(summaryRepo.save(any())).then(i -> i.getArgument(0));
+            when(summaryRepo.submitIfDraft(eq(summaryDraft.getId()), any())).thenReturn(1);
 
             TimesheetSummaryDto dto = new TimesheetSummaryDto();
             dto.setEmployeeCode(EMP1);
@@ -199,14 +265,14 @@ class TimesheetServiceImplTest {
 
             String out = service.submitTimesheetSummary(dto);
 
-            verify(summaryRepo).save(argThat(s ->
-                    ((TimesheetSummary) s).getStatus() == TimeSheetStatus.SUBMITTED));
+            verify(summaryRepo, never()).save(any());
             assertThat(out).contains("submitted").contains(EMP1);
         }
 
         @Test
         void refuses_whenNotDraft() {
             summaryDraft.setStatus(TimeSheetStatus.APPROVED);
+            when(summaryRepo.submitIfDraft(any(), any())).thenReturn(0);
             when(summaryRepo.findById(any())).thenReturn(java.util.Optional.of(summaryDraft));
 
             TimesheetSummaryDto dto = new TimesheetSummaryDto();
@@ -216,18 +282,43 @@ class TimesheetServiceImplTest {
             dto.setWeekStart(monday);
 
             assertThatThrownBy(() -> service.submitTimesheetSummary(dto))
-                    .isInstanceOf(TimeSheetException.class);
+                    .isInstanceOf(TimeSheetException.class)
+                    .extracting(ERROR_CODE)
+                    .isEqualTo(ErrorCode.STATUS_CONFLICT_ERROR);
         }
     }
 
+    @Test
+    void submitMonth_returnsSubmittedWeeksInOrder() {
+        Date nextMonday = Date.valueOf(monday.toLocalDate().plusWeeks(1));
+        when(summaryRepo.submitDraftWeeks(EMP1, 2025, 5)).thenReturn(List.of(nextMonday, monday));
+
+        MonthlyTimesheetSubmitDto dto = new MonthlyTimesheetSubmitDto();
+        dto.setEmployeeCode(EMP1);
+        dto.setTimesheetYear(2025);
+        dto.setTimesheetMonth(5);
+
+        MonthlySubmissionResponseDto out = service.submitMonth(dto);
+
+        assertThat(out.getSubmittedWeeks()).containsExactly(monday, nextMonday);
+        verify(summaryRepo, never()).save(any());
+    }
+
     /* ───────────────────── approveOrRejectWeekly ───────────────────── */
     @Nested class ApproveOrRejectWeekly {
 
+        @BeforeEach
+        void submitted() {
+            summaryDraft.setStatus(TimeSheetStatus.SUBMITTED);
+        }
+
         @Test
         void approvesAndUpdatesDailySheets() {
             when(summaryRepo.findById(any())).thenReturn(java.util.Optional.of(summaryDraft));
             when(dailyRepo.findByEmployeeCodeAndWorkDateBetween(EMP1, monday, sunday))
                     .thenReturn(List.of(dayEntity));
+            when(summaryRepo.decideIfSubmitted(summaryDraft.getId(), TimeSheetStatus.APPROVED, MGR1, "Looks good", 4.0))
+                    .thenReturn(1);
 
             DailyTimesheetRequestDto mod = new DailyTimesheetRequestDto();
             mod.setEmployeeCode(EMP1);
@@ -250,11 +341,230 @@ class TimesheetServiceImplTest {
 
             String msg = service.approveOrRejectWeekly(req);
 
-            verify(dailyRepo, atLeastOnce()).save(any(DailyTimeSheet.class));
-            verify(summaryRepo).save(argThat(
-                    s -> ((TimesheetSummary) s).getStatus() == TimeSheetStatus.APPROVED));
+            verify(dailyRepo).saveAll(List.of(dayEntity));
+            InOrder rollup = inOrder(rollupRepo);
+            rollup.verify(rollupRepo).lockForDeltas();
+            rollup.verify(rollupRepo).addHours(new MonthlyHoursRollupId(PROJ_CODE, EMP1, 2025, 5, EntryType.PROJECT), 4.0, 0);
+            verify(summaryRepo, never()).save(any());
+            verify(eventPublisher).publishEvent(
+                    TimesheetChangedEvent.decided(List.of(summaryDraft.getId()), Set.of(MGR1)));
             assertThat(msg).contains("approved").contains(MGR1);
         }
+
+        @Test
+        void conflicts_whenWeekIsNotSubmitted() {
+            summaryDraft.setStatus(TimeSheetStatus.DRAFT);
+            when(summaryRepo.findById(any())).thenReturn(java.util.Optional.of(summaryDraft));
+
+            ManagerApprovalRequestDto req = approval(EMP1, List.of());
+
+            assertThatThrownBy(() -> service.approveOrRejectWeekly(req))
+                    .isInstanceOf(TimeSheetException.class)
+                    .extracting(ERROR_CODE)
+                    .isEqualTo(ErrorCode.STATUS_CONFLICT_ERROR);
+            verify(summaryRepo, never()).decideIfSubmitted(any(), any(), any(), any(), anyDouble());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        void conflicts_whenStatusChangesBeforeTheDecisionLands() {
+            when(summaryRepo.findById(any())).thenReturn(java.util.Optional.of(summaryDraft));
+            when(summaryRepo.decideIfSubmitted(any(), any(), any(), any(), anyDouble()))
+                    .then(i -> {
+                        summaryDraft.setStatus(TimeSheetStatus.DRAFT);
+                        return 0;
+                    });
+
+            ManagerApprovalRequestDto req = approval(EMP1, List.of());
+
+            assertThatThrownBy(() -> service.approveOrRejectWeekly(req))
+                    .isInstanceOf(TimeSheetException.class)
+                    .hasMessageContaining("DRAFT")
+                    .extracting(ERROR_CODE)
+                    .isEqualTo(ErrorCode.STATUS_CONFLICT_ERROR);
+        }
+
+        @Test
+        void batch_reportsWeeksThatAreNotSubmitted() {
+            summaryDraft.setStatus(TimeSheetStatus.APPROVED);
+            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartIn(Set.of(EMP1), Set.of(monday), TimesheetSummaryView.class))
+                    .thenReturn(List.of(view(summaryDraft)));
+
+            List<ManagerApprovalResultDto> results =
+                    service.approveOrRejectWeeklyBatch(List.of(approval(EMP1, List.of())));
+
+            assertThat(results).singleElement().extracting(ManagerApprovalResultDto::isSuccess).isEqualTo(false);
+            assertThat(results.get(0).getMessage()).contains("APPROVED");
+        }
+
+        @Test
+        void batch_failsItemsWithoutAWeekStart_andDecidesTheRest() {
+            ManagerApprovalRequestDto noWeek = approval(EMP2, List.of());
+            noWeek.setWeekStart(null);
+            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartIn(
+                    Set.of(EMP1, EMP2), Set.of(monday), TimesheetSummaryView.class))
+                    .thenReturn(List.of(view(summaryDraft)));
+            when(summaryRepo.decideIfSubmitted(any(), eq(TimeSheetStatus.APPROVED), eq(MGR1), any(), eq(0.0)))
+                    .thenReturn(1);
+
+            List<ManagerApprovalResultDto> results =
+                    service.approveOrRejectWeeklyBatch(List.of(approval(EMP1, List.of()), noWeek));
+
+            assertThat(results).extracting(ManagerApprovalResultDto::isSuccess).containsExactly(true, false);
+            assertThat(results.get(1).getMessage()).contains("weekStart", EMP2);
+        }
+
+        @Test
+        void batch_skipsTheReads_whenNoItemHasAWeekStart() {
+            ManagerApprovalRequestDto noWeek = approval(EMP1, List.of());
+            noWeek.setWeekStart(null);
+
+            List<ManagerApprovalResultDto> results = service.approveOrRejectWeeklyBatch(List.of(noWeek));
+
+            assertThat(results).singleElement().extracting(ManagerApprovalResultDto::isSuccess).isEqualTo(false);
+            verifyNoInteractions(summaryRepo, dailyRepo);
+        }
+
+        @Test
+        void batch_appliesAllItemsAndReportsMissingSummaries() {
+            TimesheetSummary other = makeSummary(EMP2, monday, 0.0, TimeSheetStatus.SUBMITTED);
+            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartIn(
+                    Set.of(EMP1, EMP2, EMP3), Set.of(monday), TimesheetSummaryView.class))
+                    .thenReturn(List.of(view(summaryDraft), view(other)));
+            when(summaryRepo.decideIfSubmitted(any(), eq(TimeSheetStatus.APPROVED), eq(MGR1), any(), eq(0.0)))
+                    .thenReturn(1);
+            when(dailyRepo.findByEmployeeCodeInAndWorkDateBetween(Set.of(EMP1, EMP2, EMP3), monday, sunday))
+                    .thenReturn(List.of(dayEntity));
+
+            DailyTimesheetRequestDto edit = new DailyTimesheetRequestDto();
+            edit.setWorkDate(monday);
+            edit.setEntryType(EntryType.PROJECT);
+            edit.setProjectCode(PROJ_CODE);
+            edit.setHoursSpent(8.0);
+            edit.setTimesheetYear(2025);
+            edit.setTimesheetMonth(5);
+
+            DailyTimesheetRequestDto added = new DailyTimesheetRequestDto();
+            added.setWorkDate(monday);
+            added.setEntryType(EntryType.HOLIDAY);
+            added.setHoursSpent(8.0);
+            added.setTimesheetYear(2025);
+            added.setTimesheetMonth(5);
+
+            List<ManagerApprovalRequestDto> requests = List.of(
+                    approval(EMP1, List.of(edit)),
+                    approval(EMP2, List.of(added)),
+                    approval(EMP3, List.of()));
+
+            List<ManagerApprovalResultDto> results = service.approveOrRejectWeeklyBatch(requests);
+
+            assertThat(results).extracting(ManagerApprovalResultDto::isSuccess).containsExactly(true, true, false);
+            assertThat(results.get(2).getMessage()).contains(EMP3);
+            verify(summaryRepo).addTotalHours(summaryDraft.getId(), 4.0);
+            verify(summaryRepo).addTotalHours(other.getId(), 8.0);
+            // The edited row moves its rollup key by the change; the new holiday row is counted by the upsert
+            verify(rollupRepo).addHours(new MonthlyHoursRollupId(PROJ_CODE, EMP1, 2025, 5, EntryType.PROJECT), 4.0, 0);
+            verify(rollupRepo, never()).addHours(
+                    new MonthlyHoursRollupId("", EMP2, 2025, 5, EntryType.HOLIDAY), 8.0, 0);
+            verify(dailyRepo).saveAll(List.of(dayEntity));
+            verify(dailyRepo).upsertAll(argThat(rows -> rows.size() == 1 && EMP2.equals(rows.get(0).getEmployeeCode())));
+            verify(summaryRepo, never()).findById(any());
+        }
+
+        @Test
+        void batch_rejectsIncompleteEditWithoutTouchingRows() {
+            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartIn(Set.of(EMP1), Set.of(monday), TimesheetSummaryView.class))
+                    .thenReturn(List.of(view(summaryDraft)));
+            when(dailyRepo.findByEmployeeCodeInAndWorkDateBetween(Set.of(EMP1), monday, sunday))
+                    .thenReturn(List.of(dayEntity));
+
+            DailyTimesheetRequestDto noHours = new DailyTimesheetRequestDto();
+            noHours.setWorkDate(monday);
+            noHours.setEntryType(EntryType.PROJECT);
+            noHours.setProjectCode(PROJ_CODE);
+
+            List<ManagerApprovalResultDto> results =
+                    service.approveOrRejectWeeklyBatch(List.of(approval(EMP1, List.of(noHours))));
+
+            assertThat(results).singleElement().extracting(ManagerApprovalResultDto::isSuccess).isEqualTo(false);
+            verify(summaryRepo, never()).decideIfSubmitted(any(), any(), any(), any(), anyDouble());
+            verify(dailyRepo, never()).saveAll(any());
+        }
+
+        @Test
+        void repeatedCorrectionForNewLine_isInsertedOnce() {
+            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartIn(Set.of(EMP1), Set.of(monday), TimesheetSummaryView.class))
+                    .thenReturn(List.of(view(summaryDraft)));
+            when(dailyRepo.findByEmployeeCodeInAndWorkDateBetween(Set.of(EMP1), monday, sunday))
+                    .thenReturn(List.of(dayEntity));
+
+            DailyTimesheetRequestDto first = new DailyTimesheetRequestDto();
+            first.setWorkDate(monday);
+            first.setEntryType(EntryType.PROJECT);
+            first.setProjectCode("P02");
+            first.setHoursSpent(2.0);
+            DailyTimesheetRequestDto second = new DailyTimesheetRequestDto();
+            second.setWorkDate(monday);
+            second.setEntryType(EntryType.PROJECT);
+            second.setProjectCode(" P02 ");
+            second.setHoursSpent(3.0);
+            when(summaryRepo.decideIfSubmitted(summaryDraft.getId(), TimeSheetStatus.APPROVED, MGR1, null, 0))
+                    .thenReturn(1);
+
+            service.approveOrRejectWeeklyBatch(List.of(approval(EMP1, List.of(first, second))));
+
+            verify(dailyRepo).upsertAll(argThat(rows -> rows.size() == 1 && rows.get(0).getHoursSpent() == 3.0));
+            verify(dailyRepo, never()).saveAll(any());
+            verify(summaryRepo).addTotalHours(summaryDraft.getId(), 3.0);
+        }
+
+        @Test
+        void batch_reportsWeekDecidedConcurrently_andKeepsTheOtherDecisions() {
+            TimesheetSummary other = makeSummary(EMP2, monday, 0.0, TimeSheetStatus.SUBMITTED);
+            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartIn(
+                    Set.of(EMP1, EMP2), Set.of(monday), TimesheetSummaryView.class))
+                    .thenReturn(List.of(view(summaryDraft), view(other)));
+            when(dailyRepo.findByEmployeeCodeInAndWorkDateBetween(Set.of(EMP1, EMP2), monday, sunday))
+                    .thenReturn(List.of(dayEntity));
+            // EMP1's week was approved by someone else between the read and the decision
+            when(summaryRepo.decideIfSubmitted(summaryDraft.getId(), TimeSheetStatus.APPROVED, MGR1, null, 0))
+                    .thenReturn(0);
+            when(summaryRepo.decideIfSubmitted(other.getId(), TimeSheetStatus.APPROVED, MGR1, null, 0))
+                    .thenReturn(1);
+            TimesheetSummary approvedMeanwhile = makeSummary(EMP1, monday, 4.0, TimeSheetStatus.APPROVED);
+            when(summaryRepo.findById(summaryDraft.getId())).thenReturn(java.util.Optional.of(approvedMeanwhile));
+
+            DailyTimesheetRequestDto edit = new DailyTimesheetRequestDto();
+            edit.setWorkDate(monday);
+            edit.setEntryType(EntryType.PROJECT);
+            edit.setProjectCode(PROJ_CODE);
+            edit.setHoursSpent(8.0);
+
+            List<ManagerApprovalResultDto> results = service.approveOrRejectWeeklyBatch(List.of(
+                    approval(EMP1, List.of(edit)),
+                    approval(EMP2, List.of())));
+
+            assertThat(results).extracting(ManagerApprovalResultDto::isSuccess).containsExactly(false, true);
+            assertThat(results.get(0).getMessage()).contains("APPROVED");
+            // The losing week's edit is never applied
+            assertThat(dayEntity.getHoursSpent()).isEqualTo(4.0);
+            verify(dailyRepo, never()).saveAll(any());
+            verify(summaryRepo, never()).addTotalHours(any(), anyDouble());
+            verify(eventPublisher).publishEvent(
+                    TimesheetChangedEvent.decided(List.of(other.getId()), Set.of(MGR1)));
+        }
+
+        private ManagerApprovalRequestDto approval(String employeeCode, List<DailyTimesheetRequestDto> rows) {
+            ManagerApprovalRequestDto req = new ManagerApprovalRequestDto();
+            req.setEmployeeCode(employeeCode);
+            req.setTimesheetYear(2025);
+            req.setTimesheetMonth(5);
+            req.setWeekStart(monday);
+            req.setDailyTimeSheetRequests(rows);
+            req.setApprove(true);
+            req.setManagerCode(MGR1);
+            return req;
+        }
     }
 
     /* ───────────────────── approveAllUnderManagerForWeek ───────────────────── */
@@ -264,63 +574,112 @@ class TimesheetServiceImplTest {
         void bulkApproves_andReturnsCount() {
             UserIdentityDto emp = new UserIdentityDto();
             emp.setEmployeeCode(EMP1);
-            when(identityClient.getEmployeesUnderManager(MGR1))
-                    .thenReturn(ResponseEntity.ok(List.of(emp)));
-            when(summaryRepo.findByIdEmployeeCodeInAndIdWeekStartAndIdTimesheetYearAndIdTimesheetMonth(
-                    any(), eq(monday), eq(2025), eq(5)))
-                    .thenReturn(List.of(summaryDraft));
-
-            ManagerApprovalRequestDto req = new ManagerApprovalRequestDto();
-            req.setManagerCode(MGR1);
-            req.setWeekStart(monday);
-            req.setTimesheetYear(2025);
-            req.setTimesheetMonth(5);
-            req.setComment("auto");
+            when(employeeDirectory.getEmployeesUnderManager(MGR1)).thenReturn(List.of(emp));
+            when(summaryRepo.approveSubmittedForWeek(List.of(EMP1), monday, 2025, 5, MGR1, "auto"))
+                    .thenReturn(1);
 
-            String msg = service.approveAllUnderManagerForWeek(req);
+            int approved = service.approveAllUnderManagerForWeek(approveAll());
 
-            verify(summaryRepo).saveAll(argThat((Iterable<TimesheetSummary> it) -> {
-                for (TimesheetSummary s : it) {
-                    if (s.getStatus() != TimeSheetStatus.APPROVED) {
-                        return false;
-                    }
-                }
-                return true;
-            }));
-
-            assertThat(msg).isEqualTo(MessageConstants.APPROVED_ALL_TIMESHEETS_FOR_WEEK);
+            assertThat(approved).isEqualTo(1);
+            verify(summaryRepo, never()).saveAll(any());
         }
 
         @Test
-        void fails_whenIdentityServiceNot2xx() {
-            when(identityClient.getEmployeesUnderManager(MGR1))
-                    .thenReturn(ResponseEntity.status(500).build());
+        void largeTeams_areApprovedInChunks() {
+            List<UserIdentityDto> team = java.util.stream.IntStream.range(0, 1500)
+                    .mapToObj(i -> {
+                        UserIdentityDto emp = new UserIdentityDto();
+                        emp.setEmployeeCode("E" + i);
+                        return emp;
+                    })
+                    .toList();
+            when(employeeDirectory.getEmployeesUnderManager(MGR1)).thenReturn(team);
+            when(summaryRepo.approveSubmittedForWeek(any(), eq(monday), eq(2025), eq(5), eq(MGR1), eq("auto")))
+                    .thenReturn(1000, 500);
+
+            int approved = service.approveAllUnderManagerForWeek(approveAll());
+
+            assertThat(approved).isEqualTo(1500);
+            verify(summaryRepo, times(2)).approveSubmittedForWeek(any(), any(), any(), any(), any(), any());
+        }
 
+        private ManagerApprovalRequestDto approveAll() {
             ManagerApprovalRequestDto req = new ManagerApprovalRequestDto();
             req.setManagerCode(MGR1);
             req.setWeekStart(monday);
             req.setTimesheetYear(2025);
             req.setTimesheetMonth(5);
+            req.setComment("auto");
+            return req;
+        }
 
-            assertThatThrownBy(() -> service.approveAllUnderManagerForWeek(req))
-                    .isInstanceOf(TimeSheetException.class)
-                    .extracting("errorCode")
-                    .isEqualTo(ErrorCode.FAILED_TO_FETCH_DETAILS);
+        @Test
+        void approvesNothing_whenManagerHasNoReports() {
+            when(employeeDirectory.getEmployeesUnderManager(MGR1)).thenReturn(List.of());
+
+            assertThat(service.approveAllUnderManagerForWeek(approveAll())).isZero();
+            verify(summaryRepo, never()).approveSubmittedForWeek(any(), any(), any(), any(), any(), any());
         }
     }
 
     /* ───────────────────── getDailyEntries ───────────────────── */
     @Test
     void getDailyEntries_returnsDtosWithStatus() {
-        when(summaryRepo.findByIdEmployeeCodeAndIdWeekStart(EMP1, monday))
-                .thenReturn(java.util.Optional.of(summaryDraft));
-        when(dailyRepo.findByEmployeeCodeAndWorkDateBetween(EMP1, monday, sunday))
-                .thenReturn(List.of(dayEntity));
+        when(summaryRepo.findWeekEntryRows(EMP1, monday, sunday)).thenReturn(List.of(
+                new DailyEntryRowView(TimeSheetStatus.DRAFT, "fix tuesday", EMP1, 2025, 5, monday,
+                        PROJ_CODE, EntryType.PROJECT, 4.0, null, false)));
 
         var resp = service.getDailyEntries(EMP1, monday);
 
         assertThat(resp.getStatus()).isEqualTo(TimeSheetStatus.DRAFT);
-        assertThat(resp.getDailyTimeSheetResponseDtos()).hasSize(1);
+        assertThat(resp.getManagerComment()).isEqualTo("fix tuesday");
+        assertThat(resp.getDailyTimeSheetResponseDtos()).singleElement()
+                .satisfies(dto -> assertThat(dto.getHoursSpent()).isEqualTo(4.0));
+        verifyNoInteractions(dailyRepo);
+    }
+
+    @Test
+    void getDailyEntries_returnsEmptyWeekWithStatus() {
+        when(summaryRepo.findWeekEntryRows(EMP1, monday, sunday)).thenReturn(List.of(
+                new DailyEntryRowView(TimeSheetStatus.SUBMITTED, null, null, null, null, null,
+                        null, null, null, null, null)));
+
+        var resp = service.getDailyEntries(EMP1, monday);
+
+        assertThat(resp.getStatus()).isEqualTo(TimeSheetStatus.SUBMITTED);
+        assertThat(resp.getDailyTimeSheetResponseDtos()).isEmpty();
+    }
+
+    @Test
+    void getDailyEntries_throwsWhenWeekIsMissing() {
+        when(summaryRepo.findWeekEntryRows(EMP1, monday, sunday)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.getDailyEntries(EMP1, monday))
+                .isInstanceOf(TimeSheetException.class)
+                .extracting(ERROR_CODE)
+                .isEqualTo(ErrorCode.NOT_FOUND_ERROR);
+    }
+
+    /* ───────────────────── getWeekVersion ───────────────────── */
+    private ResourceVersionView weekVersion(long rows, long versions) {
+        return PROJECTIONS.createProjection(ResourceVersionView.class, Map.of(
+                "lastModified", Timestamp.valueOf("2025-05-05 10:00:00"),
+                "rowCount", rows,
+                "versionSum", versions));
+    }
+
+    @Test
+    void getWeekVersion_spansTheWholeWeek_andChangesWithSummaryVersion() {
+        when(summaryRepo.findWeekVersion(EMP1, monday, sunday)).thenReturn(weekVersion(3, 1));
+        ResourceVersionView before = service.getWeekVersion(EMP1, monday);
+
+        // An approval touches neither the daily rows nor their count, only the summary version
+        ResourceVersionView after = weekVersion(3, 2);
+
+        assertThat(before.exists()).isTrue();
+        assertThat(before.lastModifiedMillis()).isEqualTo(after.lastModifiedMillis());
+        assertThat(before.etag()).startsWith("\"").endsWith("\"").isNotEqualTo(after.etag());
+        verifyNoInteractions(dailyRepo);
     }
 
     /* ───────────────────── getWeeklyStatus ───────────────────── */
@@ -335,23 +694,32 @@ class TimesheetServiceImplTest {
 
     /* ───────────────────── getEmployeeTimesheet ───────────────────── */
     @Test
-    void getEmployeeTimesheet_buildsMatrix() {
-        DailyTimeSheet tuesday = new DailyTimeSheet();
-        tuesday.setEmployeeCode(EMP1);
-        tuesday.setTimesheetYear(2025);
-        tuesday.setTimesheetMonth(5);
-        tuesday.setWorkDate(Date.valueOf(LocalDate.of(2025, 5, 20)));
-        tuesday.setEntryType(EntryType.PROJECT);
-        tuesday.setHoursSpent(2.0);
-
-        when(dailyRepo.findByEmployeeCodeAndTimesheetYearAndTimesheetMonth(EMP1, 2025, 5))
-                .thenReturn(List.of(dayEntity, tuesday));
-        when(projectRepo.findById(PROJ_CODE)).thenReturn(java.util.Optional.of(project));
+    void getEmployeeTimesheet_pivotsAggregatedCells() {
+        Date nextMonday = Date.valueOf(LocalDate.of(2025, 5, 26));
+        when(dailyRepo.findMonthlyMatrixCells(EMP1, 2025, 5)).thenReturn(List.of(
+                cell("Website", monday, 4.0),
+                cell("HOLIDAY", monday, 8.0),
+                cell("Website", nextMonday, 2.0)));
 
         var matrix = service.getEmployeeTimesheet(EMP1, 2025, 5);
 
-        assertThat(matrix).hasSize(2);
-        assertThat(matrix.get(0).getWeeklyHours()).isNotEmpty();
+        assertThat(matrix).extracting(TimesheetMatrixRowResponseDto::getRowKey).containsExactly("Website", "HOLIDAY");
+        assertThat(matrix.get(0).getWeeklyHours())
+                .containsExactly(entry("19-05-2025 - 25-05-2025", 4.0), entry("26-05-2025 - 01-06-2025", 2.0));
+    }
+
+    private static TimesheetMatrixCellView cell(String rowKey, Date weekStart, double hours) {
+        return new TimesheetMatrixCellView() {
+            @Override public String getRowKey() {
+                return rowKey;
+            }
+            @Override public Date getWeekStart() {
+                return weekStart;
+            }
+            @Override public Double getHours() {
+                return hours;
+            }
+        };
     }
 
     /* ───────────────────── Bean-validation smoke tests ───────────────────── */
@@ -376,78 +744,48 @@ class TimesheetServiceImplTest {
     class GetEmployeesTimesheetUnderManager {
 
         @Test
-        void returnsSortedApprovalDtos() {
-            UserIdentityDto u1 = new UserIdentityDto();
-            u1.setEmployeeCode(EMP2);
-            UserIdentityDto u2 = new UserIdentityDto();
-            u2.setEmployeeCode(EMP1);
-            when(identityClient.getEmployeesUnderManager(MGR1))
-                    .thenReturn(ResponseEntity.ok(List.of(u1, u2)));
-
-            when(summaryRepo.findAll(any(Specification.class), any(Sort.class)))
-                    .thenReturn(List.of(
-                            makeSummary(EMP1, monday, 40, TimeSheetStatus.APPROVED),
-                            makeSummary(EMP2, sunday, 15, TimeSheetStatus.SUBMITTED)
-                    ));
+        void returnsApprovalDtosFromDatabasePage() {
+            when(summaryRepo.findBy(any(Specification.class), any()))
+                    .thenReturn(new PageImpl<>(List.of(
+                            makeSummaryView(EMP1, monday, 40, TimeSheetStatus.APPROVED),
+                            makeSummaryView(EMP2, sunday, 15, TimeSheetStatus.SUBMITTED)
+                    ), PageRequest.of(0, 10), 2));
 
             PagedResponse<ManagerApprovalRequestDto> out =
                     service.getEmployeesTimesheetUnderManager(
-                            MGR1, 2025, 5, 0, 10, emptyList(), emptyList());
+                            MGR1, 2025, 5, 0, 10, emptyList(), emptyList(), true);
 
             assertThat(out.getContent()).extracting(ManagerApprovalRequestDto::getEmployeeCode)
                     .containsExactly(EMP1, EMP2);
+            assertThat(out.getContent()).extracting(ManagerApprovalRequestDto::getManagerCode)
+                    .containsOnly(MGR1);
             assertThat(out.getContent().get(0).isApprove()).isTrue();
             assertThat(out.getContent().get(1).isApprove()).isFalse();
             assertThat(out.getTotalElements()).isEqualTo(2);
-        }
-
-        @Test
-        void returnsEmptyWhenNoEmployeesUnderManager() {
-            when(identityClient.getEmployeesUnderManager(MGR1))
-                    .thenReturn(ResponseEntity.ok(Collections.emptyList()));
-
-            PagedResponse<ManagerApprovalRequestDto> out =
-                    service.getEmployeesTimesheetUnderManager(
-                            MGR1, 2025, 5, 0, 10, emptyList(), emptyList());
-
-            assertThat(out.getContent()).isEmpty();
-            verifyNoInteractions(summaryRepo);
+            verifyNoInteractions(employeeDirectory);
         }
 
         @Test
         void throwsWhenNoTimesheetsFound() {
-            UserIdentityDto u = new UserIdentityDto();
-            u.setEmployeeCode(EMP1);
-            when(identityClient.getEmployeesUnderManager(MGR1))
-                    .thenReturn(ResponseEntity.ok(List.of(u)));
-
-            when(summaryRepo.findAll(any(Specification.class), any(Sort.class)))
-                    .thenReturn(Collections.emptyList());
+            when(summaryRepo.findBy(any(Specification.class), any()))
+                    .thenReturn(Page.empty());
 
             assertThatThrownBy(() -> service.getEmployeesTimesheetUnderManager(
-                    MGR1, 2025, 5, 0, 10, emptyList(), emptyList()))
+                    MGR1, 2025, 5, 0, 10, emptyList(), emptyList(), true))
                     .isInstanceOf(TimeSheetException.class)
                     .hasMessageContaining(ErrorMessage.NO_TIMESHEET_SUMMARIES_FOUND);
         }
 
         @Test
-        void appliesOffsetLimitCorrectly() {
-            UserIdentityDto u1 = new UserIdentityDto();
-            u1.setEmployeeCode(EMP1);
-            UserIdentityDto u2 = new UserIdentityDto();
-            u2.setEmployeeCode(EMP2);
-            UserIdentityDto u3 = new UserIdentityDto();
-            u3.setEmployeeCode(EMP3);
-            when(identityClient.getEmployeesUnderManager(MGR1))
-                    .thenReturn(ResponseEntity.ok(List.of(u1, u2, u3)));
-
-            when(summaryRepo.findAll(any(Specification.class), any(Sort.class)))
-                    .thenReturn(List.of(
-                            makeSummary(EMP3, sunday, 20, TimeSheetStatus.SUBMITTED)));
+        void reportsPageAndTotalFromDatabase() {
+            when(summaryRepo.findBy(any(Specification.class), any()))
+                    .thenReturn(new PageImpl<>(List.of(
+                            makeSummaryView(EMP3, sunday, 20, TimeSheetStatus.SUBMITTED)),
+                            PageRequest.of(2, 1), 3));
 
             PagedResponse<ManagerApprovalRequestDto> out =
                     service.getEmployeesTimesheetUnderManager(
-                            MGR1, 2025, 5, 2, 1, emptyList(), emptyList());
+                            MGR1, 2025, 5, 2, 1, emptyList(), emptyList(), true);
 
             assertThat(out.getContent()).singleElement()
                     .extracting(ManagerApprovalRequestDto::getEmployeeCode)
@@ -479,43 +817,103 @@ class TimesheetServiceImplTest {
             empCodeAsc = List.of(sr);
         }
 
-        @BeforeEach
-        void mockIdentityUsers() {
-            java.util.Map<String, String> m1 = java.util.Map.of("employeeCode", EMP3);
-            java.util.Map<String, String> m2 = java.util.Map.of("employeeCode", EMP1);
-            when(identityClient.getAllUsersList())
-                    .thenReturn(ResponseEntity.ok(List.of(m1, m2)));
+        @SuppressWarnings("unchecked")
+        private FetchableFluentQuery<TimesheetSummaryView> runFluentQuery() {
+            FetchableFluentQuery<TimesheetSummary> query = mock(FetchableFluentQuery.class);
+            FetchableFluentQuery<TimesheetSummaryView> projected = mock(FetchableFluentQuery.class);
+            when(query.as(TimesheetSummaryView.class)).thenReturn(projected);
+            when(summaryRepo.findBy(any(Specification.class), any())).thenAnswer(invocation -> invocation
+                    .<Function<FetchableFluentQuery<TimesheetSummary>, Object>>getArgument(1)
+                    .apply(query));
+            return projected;
+        }
+
+        @Test
+        void pagesWithTheRequestedSort_mappedOntoTheEmbeddedId() {
+            FetchableFluentQuery<TimesheetSummaryView> projected = runFluentQuery();
+            when(projected.page(any())).thenReturn(new PageImpl<>(List.of(
+                    makeSummaryView(EMP3, sunday, 20, TimeSheetStatus.SUBMITTED)), PageRequest.of(2, 5), 11));
+            SortRequest byHours = new SortRequest();
+            byHours.setField("totalHours");
+            byHours.setDirection("desc");
+
+            PagedResponse<ManagerApprovalRequestDto> out = service.getEmployeesTimesheet(
+                    year, month, 10, 5, noFilters, List.of(empCodeAsc.get(0), byHours), true);
+
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            verify(projected).page(pageable.capture());
+            assertThat(pageable.getValue().getPageNumber()).isEqualTo(2);
+            assertThat(pageable.getValue().getPageSize()).isEqualTo(5);
+            assertThat(pageable.getValue().getSort())
+                    .containsExactly(Sort.Order.asc("id.employeeCode"), Sort.Order.desc("totalHours"));
+            assertThat(out.getPage()).isEqualTo(2);
+            assertThat(out.getTotalElements()).isEqualTo(11);
+        }
+
+        @Test
+        void scrollsByEmployeeAndWeek_whenNoSortOrTotalIsRequested() {
+            FetchableFluentQuery<TimesheetSummaryView> projected = runFluentQuery();
+            when(projected.sortBy(any())).thenReturn(projected);
+            when(projected.limit(anyInt())).thenReturn(projected);
+            when(projected.scroll(any())).thenReturn(Window.from(List.of(
+                    makeSummaryView(EMP1, monday, 10, TimeSheetStatus.DRAFT)), ScrollPosition::offset, true));
+
+            PagedResponse<ManagerApprovalRequestDto> out = service.getEmployeesTimesheet(
+                    year, month, 10, 10, noFilters, emptyList(), false);
+
+            verify(projected).sortBy(Sort.by("id.employeeCode", "id.weekStart"));
+            verify(projected).limit(10);
+            verify(projected).scroll(ScrollPosition.offset(9));
+            assertThat(out.getPage()).isEqualTo(1);
+            assertThat(out.isHasNext()).isTrue();
+            assertThat(out.getTotalElements()).isNull();
         }
 
         @Test
-        void buildsPagedResponseAndSorts() {
-            when(summaryRepo.findAll(any(Specification.class), any(Sort.class)))
-                    .thenReturn(List.of(
-                            makeSummary(EMP1, monday, 10, TimeSheetStatus.DRAFT),
-                            makeSummary(EMP3, sunday, 20, TimeSheetStatus.APPROVED)
-                    ));
+        void buildsPagedResponseFromDatabasePage() {
+            when(summaryRepo.findBy(any(Specification.class), any()))
+                    .thenReturn(new PageImpl<>(List.of(
+                            makeSummaryView(EMP1, monday, 10, TimeSheetStatus.DRAFT),
+                            makeSummaryView(EMP3, sunday, 20, TimeSheetStatus.APPROVED)
+                    ), PageRequest.of(0, limit), 2));
 
             PagedResponse<ManagerApprovalRequestDto> out =
                     service.getEmployeesTimesheet(
-                            year, month, offset, limit, noFilters, empCodeAsc);
+                            year, month, offset, limit, noFilters, empCodeAsc, true);
 
             assertThat(out.getContent()).extracting(ManagerApprovalRequestDto::getEmployeeCode)
                     .containsExactly(EMP1, EMP3);
             assertThat(out.getContent().get(0).isApprove()).isFalse();
             assertThat(out.getContent().get(1).getHours()).isEqualTo(20);
+            assertThat(out.getTotalElements()).isEqualTo(2);
+            verifyNoInteractions(employeeDirectory);
         }
 
         @Test
-        void emptyWhenIdentityReturnsNone() {
-            when(identityClient.getAllUsersList())
-                    .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+        void throwsWhenNoTimesheetsFound() {
+            when(summaryRepo.findBy(any(Specification.class), any()))
+                    .thenReturn(Page.empty());
 
-            PagedResponse<ManagerApprovalRequestDto> out =
-                    service.getEmployeesTimesheet(
-                            year, month, offset, limit, noFilters, empCodeAsc);
+            assertThatThrownBy(() -> service.getEmployeesTimesheet(
+                    year, month, offset, limit, noFilters, empCodeAsc, true))
+                    .isInstanceOf(TimeSheetException.class)
+                    .hasMessageContaining(ErrorMessage.NO_TIMESHEET_SUMMARIES_FOUND);
+        }
 
-            assertThat(out.getContent()).isEmpty();
-            verifyNoInteractions(summaryRepo);
+        @Test
+        void streamsRowsToTheSink_andClosesTheCursor() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(summaryRepo.streamDirectoryMonth(year, month)).thenReturn(Stream.of(
+                    makeSummaryView(EMP1, monday, 10, TimeSheetStatus.DRAFT),
+                    makeSummaryView(EMP3, sunday, 20, TimeSheetStatus.APPROVED))
+                    .onClose(() -> closed.set(true)));
+            List<ManagerApprovalRequestDto> written = new ArrayList<>();
+
+            service.streamEmployeesTimesheet(year, month, written::add);
+
+            assertThat(written).extracting(ManagerApprovalRequestDto::getEmployeeCode).containsExactly(EMP1, EMP3);
+            assertThat(written.get(1).isApprove()).isTrue();
+            assertThat(closed).isTrue();
         }
     }
 }